@@ -10,10 +10,14 @@ import {
     City,
     Reservation,
     CancelReservationResponse,
-    GetReservationPdfResponse
+    GetReservationPdfResponse,
+    GetAllCitiesResponse,
+    SeatAvailabilityUpdate
 } from '../api/types';
 
 const SOAP_ENDPOINT = '/api/ws/flights.wsdl';
+const EVENTS_ENDPOINT = '/api/events/flights';
+const CITIES_CACHE_KEY = 'flightreservation.cities';
 const SERVICE_NS = "http://example.org/flightreservationsystem";
 const SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
 
@@ -83,6 +87,10 @@ const parseSoapResponse = <T>(action: SoapAction, soapBody: Element): T => {
         return parseReservationResponse(soapBody) as T;
       case 'getReservationPdf':
         return parseReservationPdfResponse(soapBody) as T;
+      case 'getAllCities':
+        return parseAllCitiesResponse(soapBody) as T;
+      case 'searchCities':
+        return parseCitiesResponse(soapBody, "searchCitiesResponse") as T;
       default:
         throw new Error(`Unsupported action: ${action}`);
     }
@@ -112,7 +120,8 @@ const parseFlightResponse = (soapBody: Element): Flight => {
       arrivalDatetime: parseSoapDateTime(getXmlValue(flightElement, "arrivalDatetime", SERVICE_NS)),
       totalSeats: parseInt(getXmlValue(flightElement, "totalSeats", SERVICE_NS) || "0"),
       availableSeats: parseInt(getXmlValue(flightElement, "availableSeats", SERVICE_NS) || "0"),
-      basePrice: parseFloat(getXmlValue(flightElement, "basePrice", SERVICE_NS) || "0")
+      basePrice: parseFloat(getXmlValue(flightElement, "basePrice", SERVICE_NS) || "0"),
+      currentPrice: parseOptionalPrice(getXmlValue(flightElement, "currentPrice", SERVICE_NS))
   };
 };
 
@@ -158,10 +167,14 @@ const parseFlightElement = (flightElement: Element): Flight => {
     arrivalDatetime: parseSoapDateTime(getXmlValue(flightElement, "arrivalDatetime", SERVICE_NS)),
     totalSeats: parseInt(getXmlValue(flightElement, "totalSeats", SERVICE_NS) || "0"),
     availableSeats: parseInt(getXmlValue(flightElement, "availableSeats", SERVICE_NS) || "0"),
-    basePrice: parseFloat(getXmlValue(flightElement, "basePrice", SERVICE_NS) || "0")
+    basePrice: parseFloat(getXmlValue(flightElement, "basePrice", SERVICE_NS) || "0"),
+    currentPrice: parseOptionalPrice(getXmlValue(flightElement, "currentPrice", SERVICE_NS))
   };
 };
 
+const parseOptionalPrice = (value: string | null): number | undefined =>
+  value ? parseFloat(value) : undefined;
+
 const parseCityElement = (cityElement: Element | undefined): City => {
   if (!cityElement) {
     return {
@@ -178,6 +191,29 @@ const parseCityElement = (cityElement: Element | undefined): City => {
   };
 };
 
+const parseCitiesResponse = (soapBody: Element, responseName: string): City[] => {
+  const responseElement = soapBody.getElementsByTagNameNS(SERVICE_NS, responseName)[0];
+  if (!responseElement) {
+    throw new Error(`${responseName} element not found`);
+  }
+
+  return Array.from(responseElement.getElementsByTagNameNS(SERVICE_NS, "cities"))
+    .map(cityElement => parseCityElement(cityElement));
+};
+
+const parseAllCitiesResponse = (soapBody: Element): GetAllCitiesResponse => {
+  const responseElement = soapBody.getElementsByTagNameNS(SERVICE_NS, "getAllCitiesResponse")[0];
+  if (!responseElement) {
+    throw new Error("getAllCitiesResponse element not found");
+  }
+
+  return {
+    version: getXmlValue(responseElement, "version", SERVICE_NS) || '',
+    notModified: getXmlValue(responseElement, "notModified", SERVICE_NS)?.toLowerCase() === 'true',
+    cities: parseCitiesResponse(soapBody, "getAllCitiesResponse")
+  };
+};
+
 const parseReservationElement = (reservationElement: Element): Reservation => {
   const getValue = (tagName: string): string => {
     const element = reservationElement.getElementsByTagNameNS(SERVICE_NS, tagName)[0] || 
@@ -366,6 +402,28 @@ export const searchFlights = async (params: {
 export const getAllFlights = (): Promise<Flight[]> => 
   callSoapService<Flight[]>('getAllFlights', {});
 
+export const getAllCities = async (): Promise<City[]> => {
+  const cachedValue = localStorage.getItem(CITIES_CACHE_KEY);
+  const cached: GetAllCitiesResponse | null = cachedValue ? JSON.parse(cachedValue) : null;
+
+  const response = await callSoapService<GetAllCitiesResponse>('getAllCities', {
+    version: cached?.version
+  });
+
+  if (response.notModified && cached) {
+    return cached.cities;
+  }
+
+  localStorage.setItem(CITIES_CACHE_KEY, JSON.stringify(response));
+  return response.cities;
+};
+
+export const searchCities = (prefix: string, limit?: number): Promise<City[]> =>
+  callSoapService<City[]>('searchCities', {
+    prefix: prefix,
+    limit: limit?.toString()
+  });
+
 export const createReservation = async (params: {
   flightId: number;
   passengerFirstname: string;
@@ -453,4 +511,21 @@ export const getReservationPdf = async (reservationCode: string): Promise<void>
     console.error('Error getting reservation PDF:', error);
     throw error;
   }
-};
\ No newline at end of file
+};
+
+export const subscribeSeatAvailability = (
+  flightId: number,
+  onUpdate: (update: SeatAvailabilityUpdate) => void
+): (() => void) => {
+  const source = new EventSource(`${EVENTS_ENDPOINT}/${flightId}/seats`);
+
+  source.addEventListener('seats', (event) => {
+    try {
+      onUpdate(JSON.parse((event as MessageEvent).data) as SeatAvailabilityUpdate);
+    } catch (error) {
+      console.error('Error parsing seat availability update:', error);
+    }
+  });
+
+  return () => source.close();
+};
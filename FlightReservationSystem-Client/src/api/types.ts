@@ -14,6 +14,7 @@ export interface Flight {
   totalSeats: number;
   availableSeats: number;
   basePrice: number;
+  currentPrice?: number;
 }
 
 export interface Reservation {
@@ -28,6 +29,12 @@ export interface Reservation {
   flight: Flight;
 }
 
+export interface SeatAvailabilityUpdate {
+  flightId: number;
+  availableSeats: number;
+  delta: number;
+}
+
 export interface GetFlightPayload {
   id: string;
 }
@@ -68,6 +75,21 @@ export interface GetReservationPdfPayload {
   reservationCode: string;
 }
 
+export interface GetAllCitiesPayload {
+  version?: string;
+}
+
+export interface GetAllCitiesResponse {
+  version: string;
+  notModified: boolean;
+  cities: City[];
+}
+
+export interface SearchCitiesPayload {
+  prefix: string;
+  limit?: string;
+}
+
 export interface GetReservationPdfResponse {
   success: boolean;
   message?: string;
@@ -78,7 +100,8 @@ export interface GetReservationPdfResponse {
 export type SoapAction = 
 'getFlight' | 'searchFlights' | 'getAllFlights' | 
 'createReservation' | 'cancelReservation' | 
-'getReservationByCode' | 'getReservationPdf';
+'getReservationByCode' | 'getReservationPdf' |
+'getAllCities' | 'searchCities';
   
 export type Payload = 
 | { action: 'getFlight', payload: GetFlightPayload }
@@ -86,4 +109,6 @@ export type Payload =
 | { action: 'getAllFlights', payload: GetAllFlightsPayload }
 | { action: 'createReservation', payload: CreateReservationPayload }
 | { action: 'cancelReservation', payload: CancelReservationPayload }
-| { action: 'getReservationByCode', payload: GetReservationByCodePayload };
\ No newline at end of file
+| { action: 'getReservationByCode', payload: GetReservationByCodePayload }
+| { action: 'getAllCities', payload: GetAllCitiesPayload }
+| { action: 'searchCities', payload: SearchCitiesPayload };
\ No newline at end of file
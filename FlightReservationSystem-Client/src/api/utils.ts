@@ -6,7 +6,9 @@ import {
     CreateReservationPayload,
     CancelReservationPayload,
     GetReservationByCodePayload,
-    GetReservationPdfPayload
+    GetReservationPdfPayload,
+    GetAllCitiesPayload,
+    SearchCitiesPayload
 } from '../api/types';
 
 export const parseXmlResponse = (xmlString: string, namespace: string) => {
@@ -108,6 +110,28 @@ export const buildSoapRequest = (action: SoapAction, payload: GetFlightPayload |
       `;
       break;
     }
+
+    case 'getAllCities': {
+      const citiesPayload = payload as GetAllCitiesPayload;
+      bodyContent = citiesPayload.version
+        ? `<flig:getAllCitiesRequest><flig:version>${citiesPayload.version}</flig:version></flig:getAllCitiesRequest>`
+        : `<flig:getAllCitiesRequest/>`;
+      break;
+    }
+
+    case 'searchCities': {
+      const searchCitiesPayload = payload as SearchCitiesPayload;
+      const limitXml = searchCitiesPayload.limit
+        ? `<flig:limit>${searchCitiesPayload.limit}</flig:limit>`
+        : '';
+      bodyContent = `
+        <flig:searchCitiesRequest>
+          <flig:prefix>${searchCitiesPayload.prefix}</flig:prefix>
+          ${limitXml}
+        </flig:searchCitiesRequest>
+      `;
+      break;
+    }
   }
 
   return `
@@ -3,10 +3,10 @@ import Button from "./Button";
 import { Flight, Reservation } from "../api/types";
 import Tag from "./Tag";
 import Modal from "./Modal";
-import { useState } from "react";
+import { useEffect, useState } from "react";
 import NumberInput from "./NumberInput";
 import Input from "./Input";
-import { createReservation } from "../api/flightSoapClient";
+import { createReservation, subscribeSeatAvailability } from "../api/flightSoapClient";
 
 interface FlightCardProps extends Flight {}
 
@@ -19,8 +19,10 @@ const FlightCard: React.FC<FlightCardProps> = ({
   arrivalDatetime,
   totalSeats,
   availableSeats,
-  basePrice
+  basePrice,
+  currentPrice
 }) => {
+  const price = currentPrice ?? basePrice;
   const [isBookingModalOpen, setIsBookingModalOpen] = useState(false);
   const [passengerCount, setPassengerCount] = useState(1);
   const [selectedSeats, setSelectedSeats] = useState<string[]>([]);
@@ -36,6 +38,12 @@ const FlightCard: React.FC<FlightCardProps> = ({
   const [isBooking, setIsBooking] = useState(false);
   const [showSuccessModal, setShowSuccessModal] = useState(false);
   const [reservationDetails, setReservationDetails] = useState<Reservation | null>(null);
+  const [liveAvailableSeats, setLiveAvailableSeats] = useState(availableSeats);
+
+  useEffect(() => {
+    setLiveAvailableSeats(availableSeats);
+    return subscribeSeatAvailability(id, (update) => setLiveAvailableSeats(update.availableSeats));
+  }, [id, availableSeats]);
 
   const handleModalClose = () => {
     setIsBookingModalOpen(false);
@@ -214,11 +222,11 @@ const FlightCard: React.FC<FlightCardProps> = ({
       <div className="flex justify-between items-center mt-4 gap-8">
         <div className="flex items-center gap-4">
           <Tag text={flightCode} Icon={KeyRound} size="s"/>
-          <Tag text={availableSeats.toString() + ' seats left'} Icon={Armchair} size="s"/>
+          <Tag text={liveAvailableSeats.toString() + ' seats left'} Icon={Armchair} size="s"/>
         </div>
 
         <div className="flex items-center gap-4">
-          <p className="text-[#16191E] font-bold text-2xl">{basePrice} $</p>
+          <p className="text-[#16191E] font-bold text-2xl">{price} $</p>
         
           <Button 
             width="w-36"
@@ -320,7 +328,7 @@ const FlightCard: React.FC<FlightCardProps> = ({
             <label className="block mb-1 font-medium text-[#16191E]">Passengers</label>
             <NumberInput 
               minValue={1}
-              maxValue={availableSeats}
+              maxValue={liveAvailableSeats}
               value={passengerCount}
               onChange={(value) => {
                 setPassengerCount(value);
@@ -349,7 +357,7 @@ const FlightCard: React.FC<FlightCardProps> = ({
                           if (seatNumber > totalSeats) return null;
                           
                           const seatLabel = `${seatNumber}`;
-                          const isAvailable = seatNumber <= availableSeats;
+                          const isAvailable = seatNumber <= liveAvailableSeats;
                           const isSelected = selectedSeats.includes(seatLabel);
                           
                           return (
@@ -386,7 +394,7 @@ const FlightCard: React.FC<FlightCardProps> = ({
                           if (seatNumber > totalSeats) return null;
                           
                           const seatLabel = `${seatNumber}`;
-                          const isAvailable = seatNumber <= availableSeats;
+                          const isAvailable = seatNumber <= liveAvailableSeats;
                           const isSelected = selectedSeats.includes(seatLabel);
                           
                           return (
@@ -419,7 +427,7 @@ const FlightCard: React.FC<FlightCardProps> = ({
           <div className="mt-4 pt-2 border-t">
             <div className="flex justify-between items-center mb-4">
               <p className="font-semibold text-[#313642]">Total</p>
-              <p className="font-bold text-lg text-[#16191E]">${(basePrice * passengerCount).toFixed(2)}</p>
+              <p className="font-bold text-lg text-[#16191E]">${(price * passengerCount).toFixed(2)}</p>
             </div>
             <div className="flex justify-end">
               <Button
@@ -0,0 +1,29 @@
+#!/bin/sh
+# Starts a local cluster of N server instances (default 3) on ports 8081.. against the database configured
+# in application.properties. Each instance logs to target/cluster/node-<i>.log; Ctrl+C stops all of them.
+set -e
+cd "$(dirname "$0")"
+
+NODES=${1:-3}
+BASE_PORT=${BASE_PORT:-8080}
+CLUSTER_SECRET=${CLUSTER_SECRET:-$(head -c 24 /dev/urandom | base64)}
+
+./mvnw -B -DskipTests package
+mkdir -p target/cluster
+
+PIDS=""
+trap 'kill $PIDS 2>/dev/null' INT TERM EXIT
+i=1
+while [ "$i" -le "$NODES" ]; do
+    PORT=$((BASE_PORT + i))
+    java -jar target/FlightReservationSystem-0.0.1-SNAPSHOT.jar \
+         --cluster.enabled=true \
+         --cluster.member-id=node-$i \
+         --cluster.shared-secret="$CLUSTER_SECRET" \
+         --server.port=$PORT \
+         > target/cluster/node-$i.log 2>&1 &
+    PIDS="$PIDS $!"
+    echo "node-$i: https://localhost:$PORT/ws (log: target/cluster/node-$i.log)"
+    i=$((i + 1))
+done
+wait
@@ -0,0 +1,243 @@
+package org.example.flightreservationsystem.analytics;
+
+import org.example.flightreservationsystem.model.AnalyticsReport;
+import org.example.flightreservationsystem.model.AnalyticsReportRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Aggregates a snapshot over a departure-day range. Flights are split recursively into ranges of
+ * roughly {@link #LEAF_RESERVATIONS} reservations; each leaf only allocates accumulators for the
+ * groups its flights fall into, so per-day and per-flight reports stay cheap to merge.
+ */
+public final class AnalyticsAggregator {
+    public static final int[] BOOKING_CURVE_DAYS = {180, 90, 60, 30, 14, 7, 3, 1, 0};
+    private static final int CURVE_POINTS = BOOKING_CURVE_DAYS.length;
+    private static final int LEAF_RESERVATIONS = 65_536;
+
+    private final AnalyticsSnapshot snapshot;
+    private final AnalyticsReport.Grouping grouping;
+    private final int fromDay;
+    private final int firstFlight;
+    private final Integer departureCityId;
+    private final Integer arrivalCityId;
+
+    private AnalyticsAggregator(AnalyticsSnapshot snapshot, AnalyticsReport.Grouping grouping, int fromDay,
+                                int firstFlight, Integer departureCityId, Integer arrivalCityId) {
+        this.snapshot = snapshot;
+        this.grouping = grouping;
+        this.fromDay = fromDay;
+        this.firstFlight = firstFlight;
+        this.departureCityId = departureCityId;
+        this.arrivalCityId = arrivalCityId;
+    }
+
+    public static AnalyticsReport aggregate(ForkJoinPool pool, AnalyticsSnapshot snapshot,
+                                            AnalyticsReport.Grouping grouping, LocalDate from, LocalDate to,
+                                            Integer departureCityId, Integer arrivalCityId) {
+        int fromDay = (int) from.toEpochDay();
+        int firstFlight = snapshot.firstFlightOnOrAfter(fromDay);
+        int endFlight = snapshot.firstFlightOnOrAfter((int) to.toEpochDay() + 1);
+
+        AnalyticsAggregator aggregator = new AnalyticsAggregator(
+                snapshot, grouping, fromDay, firstFlight, departureCityId, arrivalCityId);
+        Partial totals = firstFlight < endFlight ? pool.invoke(aggregator.new Aggregation(firstFlight, endFlight)) : null;
+        return new AnalyticsReport(grouping, snapshot.takenAt, BOOKING_CURVE_DAYS.clone(), aggregator.toRows(totals));
+    }
+
+    private int groupOf(int flight) {
+        int route = snapshot.flightRoutes[flight];
+        if (departureCityId != null && snapshot.routeDepartureCityIds[route] != departureCityId) {
+            return -1;
+        }
+        if (arrivalCityId != null && snapshot.routeArrivalCityIds[route] != arrivalCityId) {
+            return -1;
+        }
+        return switch (grouping) {
+            case ROUTE -> route;
+            case DAY -> snapshot.flightDepartureDays[flight] - fromDay;
+            case FLIGHT -> flight - firstFlight;
+        };
+    }
+
+    private static int curvePoint(int daysBeforeDeparture) {
+        int point = 0;
+        while (point < CURVE_POINTS - 1 && daysBeforeDeparture < BOOKING_CURVE_DAYS[point]) {
+            point++;
+        }
+        return point;
+    }
+
+    private List<AnalyticsReportRow> toRows(Partial totals) {
+        List<AnalyticsReportRow> rows = new ArrayList<>();
+        if (totals == null) {
+            return rows;
+        }
+        for (int i = 0; i < totals.flights.length; i++) {
+            if (totals.flights[i] == 0) {
+                continue;
+            }
+            AnalyticsReportRow row = new AnalyticsReportRow();
+            int group = totals.base + i;
+            switch (grouping) {
+                case ROUTE -> {
+                    row.setDepartureCityId(snapshot.routeDepartureCityIds[group]);
+                    row.setArrivalCityId(snapshot.routeArrivalCityIds[group]);
+                }
+                case DAY -> row.setDay(LocalDate.ofEpochDay(fromDay + group));
+                case FLIGHT -> {
+                    int flight = firstFlight + group;
+                    int route = snapshot.flightRoutes[flight];
+                    row.setFlightId(snapshot.flightIds[flight]);
+                    row.setFlightCode(snapshot.flightCodes[flight]);
+                    row.setDepartureCityId(snapshot.routeDepartureCityIds[route]);
+                    row.setArrivalCityId(snapshot.routeArrivalCityIds[route]);
+                    row.setDay(LocalDate.ofEpochDay(snapshot.flightDepartureDays[flight]));
+                }
+            }
+
+            row.setFlights(totals.flights[i]);
+            row.setSeatCapacity(totals.capacity[i]);
+            row.setSeatsSold(totals.seats[i]);
+            row.setRevenue(BigDecimal.valueOf(totals.revenueCents[i], 2));
+            row.setLoadFactor(totals.capacity[i] == 0 ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(totals.seats[i]).divide(BigDecimal.valueOf(totals.capacity[i]), 4, RoundingMode.HALF_UP));
+
+            long[] curve = new long[CURVE_POINTS];
+            long sold = 0;
+            for (int point = 0; point < CURVE_POINTS; point++) {
+                sold += totals.curve[i * CURVE_POINTS + point];
+                curve[point] = sold;
+            }
+            row.setSeatsSoldByDaysOut(curve);
+            rows.add(row);
+        }
+        if (grouping == AnalyticsReport.Grouping.ROUTE) {
+            rows.sort(Comparator.comparing(AnalyticsReportRow::getRevenue).reversed());
+        }
+        return rows;
+    }
+
+    private final class Aggregation extends RecursiveTask<Partial> {
+        private final int lowFlight;
+        private final int highFlight;
+
+        private Aggregation(int lowFlight, int highFlight) {
+            this.lowFlight = lowFlight;
+            this.highFlight = highFlight;
+        }
+
+        @Override
+        protected Partial compute() {
+            int[] offsets = snapshot.reservationOffsets;
+            if (highFlight - lowFlight > 1 && offsets[highFlight] - offsets[lowFlight] > LEAF_RESERVATIONS) {
+                int middle = (lowFlight + highFlight) >>> 1;
+                Aggregation left = new Aggregation(lowFlight, middle);
+                left.fork();
+                Partial right = new Aggregation(middle, highFlight).compute();
+                return Partial.merge(left.join(), right);
+            }
+            return aggregateLeaf();
+        }
+
+        private Partial aggregateLeaf() {
+            int minGroup = Integer.MAX_VALUE;
+            int maxGroup = -1;
+            for (int flight = lowFlight; flight < highFlight; flight++) {
+                int group = groupOf(flight);
+                if (group >= 0) {
+                    minGroup = Math.min(minGroup, group);
+                    maxGroup = Math.max(maxGroup, group);
+                }
+            }
+            if (maxGroup < 0) {
+                return null;
+            }
+
+            Partial partial = new Partial(minGroup, maxGroup - minGroup + 1);
+            int[] offsets = snapshot.reservationOffsets;
+            int[] seats = snapshot.reservationSeats;
+            long[] revenueCents = snapshot.reservationRevenueCents;
+            int[] daysBefore = snapshot.reservationDaysBeforeDeparture;
+            for (int flight = lowFlight; flight < highFlight; flight++) {
+                int group = groupOf(flight);
+                if (group < 0) {
+                    continue;
+                }
+                int slot = group - minGroup;
+                partial.flights[slot]++;
+                partial.capacity[slot] += snapshot.flightTotalSeats[flight];
+                for (int r = offsets[flight]; r < offsets[flight + 1]; r++) {
+                    partial.seats[slot] += seats[r];
+                    partial.revenueCents[slot] += revenueCents[r];
+                    partial.curve[slot * CURVE_POINTS + curvePoint(daysBefore[r])] += seats[r];
+                }
+            }
+            return partial;
+        }
+    }
+
+    private static final class Partial {
+        private final int base;
+        private final int[] flights;
+        private final long[] capacity;
+        private final long[] seats;
+        private final long[] revenueCents;
+        private final long[] curve;
+
+        private Partial(int base, int size) {
+            this.base = base;
+            this.flights = new int[size];
+            this.capacity = new long[size];
+            this.seats = new long[size];
+            this.revenueCents = new long[size];
+            this.curve = new long[size * CURVE_POINTS];
+        }
+
+        private int end() {
+            return base + flights.length;
+        }
+
+        private static Partial merge(Partial left, Partial right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.base <= right.base && left.end() >= right.end()) {
+                left.add(right);
+                return left;
+            }
+            if (right.base <= left.base && right.end() >= left.end()) {
+                right.add(left);
+                return right;
+            }
+            int base = Math.min(left.base, right.base);
+            Partial merged = new Partial(base, Math.max(left.end(), right.end()) - base);
+            merged.add(left);
+            merged.add(right);
+            return merged;
+        }
+
+        private void add(Partial other) {
+            int shift = other.base - base;
+            for (int i = 0; i < other.flights.length; i++) {
+                flights[shift + i] += other.flights[i];
+                capacity[shift + i] += other.capacity[i];
+                seats[shift + i] += other.seats[i];
+                revenueCents[shift + i] += other.revenueCents[i];
+            }
+            for (int i = 0; i < other.curve.length; i++) {
+                curve[shift * CURVE_POINTS + i] += other.curve[i];
+            }
+        }
+    }
+}
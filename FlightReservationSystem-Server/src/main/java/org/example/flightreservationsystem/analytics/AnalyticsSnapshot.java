@@ -0,0 +1,79 @@
+package org.example.flightreservationsystem.analytics;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Column-oriented copy of flights and reservations. Flights are ordered by departure day, and each
+ * flight's reservations occupy {@code reservationOffsets[f] .. reservationOffsets[f + 1]} of the
+ * reservation columns.
+ */
+public final class AnalyticsSnapshot {
+    final LocalDateTime takenAt;
+
+    final int[] routeDepartureCityIds;
+    final int[] routeArrivalCityIds;
+
+    final int[] flightIds;
+    final String[] flightCodes;
+    final int[] flightRoutes;
+    final int[] flightDepartureDays;
+    final int[] flightTotalSeats;
+    final int[] reservationOffsets;
+
+    final int[] reservationSeats;
+    final long[] reservationRevenueCents;
+    final int[] reservationDaysBeforeDeparture;
+
+    AnalyticsSnapshot(LocalDateTime takenAt,
+                      int[] routeDepartureCityIds, int[] routeArrivalCityIds,
+                      int[] flightIds, String[] flightCodes, int[] flightRoutes, int[] flightDepartureDays,
+                      int[] flightTotalSeats, int[] reservationOffsets,
+                      int[] reservationSeats, long[] reservationRevenueCents, int[] reservationDaysBeforeDeparture) {
+        this.takenAt = takenAt;
+        this.routeDepartureCityIds = routeDepartureCityIds;
+        this.routeArrivalCityIds = routeArrivalCityIds;
+        this.flightIds = flightIds;
+        this.flightCodes = flightCodes;
+        this.flightRoutes = flightRoutes;
+        this.flightDepartureDays = flightDepartureDays;
+        this.flightTotalSeats = flightTotalSeats;
+        this.reservationOffsets = reservationOffsets;
+        this.reservationSeats = reservationSeats;
+        this.reservationRevenueCents = reservationRevenueCents;
+        this.reservationDaysBeforeDeparture = reservationDaysBeforeDeparture;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public int getFlightCount() {
+        return flightIds.length;
+    }
+
+    public int getReservationCount() {
+        return reservationSeats.length;
+    }
+
+    int firstFlightOnOrAfter(int epochDay) {
+        int low = 0;
+        int high = flightDepartureDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (flightDepartureDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long estimatedBytes() {
+        long perFlight = 5L * Integer.BYTES + Long.BYTES;
+        long perReservation = 2L * Integer.BYTES + Long.BYTES;
+        return flightIds.length * perFlight + reservationSeats.length * perReservation
+                + Arrays.stream(flightCodes).mapToLong(code -> code == null ? 0 : code.length()).sum();
+    }
+}
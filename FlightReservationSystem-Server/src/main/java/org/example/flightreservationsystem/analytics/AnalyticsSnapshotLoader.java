@@ -0,0 +1,253 @@
+package org.example.flightreservationsystem.analytics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads the snapshot through its own small read-only pool, so report refreshes never take
+ * connections from the booking pool. Point {@code analytics.datasource.url} at a replica to move
+ * the scan off the primary entirely.
+ */
+@Component
+public class AnalyticsSnapshotLoader {
+    private static final String FLIGHT_COLUMNS =
+            "FLIGHT_ID, FLIGHT_CODE, DEPARTURE_CITY_ID, ARRIVAL_CITY_ID, DEPARTURE_DATETIME, TOTAL_SEATS";
+    private static final String RESERVATION_COLUMNS = "r.FLIGHT_ID, r.SEATS_RESERVED, r.TOTAL_PRICE, r.RESERVATION_DATE";
+    private static final String TABLE_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int historyDays;
+
+    public AnalyticsSnapshotLoader(@Value("${analytics.datasource.url:${spring.datasource.url}}") String url,
+                                   @Value("${analytics.datasource.username:${spring.datasource.username}}") String username,
+                                   @Value("${analytics.datasource.password:${spring.datasource.password}}") String password,
+                                   @Value("${analytics.history-days:400}") int historyDays) {
+        this.dataSource = new HikariDataSource();
+        dataSource.setPoolName("analytics");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.historyDays = historyDays;
+    }
+
+    public AnalyticsSnapshot load() {
+        return transactionTemplate.execute(status -> loadConsistent());
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+
+    private AnalyticsSnapshot loadConsistent() {
+        LocalDateTime takenAt = LocalDateTime.now();
+        Date since = Date.valueOf(LocalDate.now().minusDays(historyDays));
+        boolean archived = tableExists("flights_archive") && tableExists("reservations_archive");
+
+        String flightSql = "SELECT " + FLIGHT_COLUMNS + " FROM flights WHERE DEPARTURE_DATETIME >= ?";
+        Object[] flightArgs = {since};
+        if (archived) {
+            flightSql += " UNION ALL SELECT " + FLIGHT_COLUMNS + " FROM flights_archive WHERE DEPARTURE_DATETIME >= ?";
+            flightArgs = new Object[]{since, since};
+        }
+
+        FlightColumns flights = new FlightColumns();
+        jdbcTemplate.query(flightSql, rs -> {
+            flights.add(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getInt(4),
+                    (int) rs.getTimestamp(5).toLocalDateTime().toLocalDate().toEpochDay(), rs.getInt(6));
+        }, flightArgs);
+        flights.sortByDepartureDay();
+
+        String reservationSql = "SELECT " + RESERVATION_COLUMNS + " FROM reservations r " +
+                "JOIN flights f ON f.FLIGHT_ID = r.FLIGHT_ID WHERE f.DEPARTURE_DATETIME >= ? AND r.CANCELLED_AT IS NULL";
+        Object[] reservationArgs = {since};
+        if (archived) {
+            reservationSql += " UNION ALL SELECT " + RESERVATION_COLUMNS + " FROM reservations_archive r " +
+                    "JOIN flights_archive f ON f.FLIGHT_ID = r.FLIGHT_ID WHERE f.DEPARTURE_DATETIME >= ? " +
+                    "AND r.CANCELLED_AT IS NULL";
+            reservationArgs = new Object[]{since, since};
+        }
+
+        ReservationColumns reservations = new ReservationColumns();
+        jdbcTemplate.query(reservationSql, rs -> {
+            int flight = flights.positionOf(rs.getInt(1));
+            if (flight < 0) {
+                return;
+            }
+            Timestamp reservationDate = rs.getTimestamp(4);
+            int daysBefore = reservationDate == null ? 0 : Math.max(0,
+                    flights.departureDays[flight] - (int) reservationDate.toLocalDateTime().toLocalDate().toEpochDay());
+            reservations.add(flight, rs.getInt(2), rs.getBigDecimal(3).movePointRight(2).longValue(), daysBefore);
+        }, reservationArgs);
+
+        return reservations.toSnapshot(takenAt, flights);
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private static final class FlightColumns {
+        private int size;
+        private int[] ids = new int[1024];
+        private String[] codes = new String[1024];
+        private int[] departureCityIds = new int[1024];
+        private int[] arrivalCityIds = new int[1024];
+        private int[] departureDays = new int[1024];
+        private int[] totalSeats = new int[1024];
+        private final Map<Integer, Integer> positionById = new HashMap<>();
+
+        void add(int id, String code, int departureCityId, int arrivalCityId, int departureDay, int seats) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                codes = Arrays.copyOf(codes, capacity);
+                departureCityIds = Arrays.copyOf(departureCityIds, capacity);
+                arrivalCityIds = Arrays.copyOf(arrivalCityIds, capacity);
+                departureDays = Arrays.copyOf(departureDays, capacity);
+                totalSeats = Arrays.copyOf(totalSeats, capacity);
+            }
+            ids[size] = id;
+            codes[size] = code;
+            departureCityIds[size] = departureCityId;
+            arrivalCityIds[size] = arrivalCityId;
+            departureDays[size] = departureDay;
+            totalSeats[size] = seats;
+            size++;
+        }
+
+        void sortByDepartureDay() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) departureDays[i] << 32) | i;
+            }
+            Arrays.sort(keys);
+
+            int[] sortedIds = new int[size];
+            String[] sortedCodes = new String[size];
+            int[] sortedDepartureCityIds = new int[size];
+            int[] sortedArrivalCityIds = new int[size];
+            int[] sortedDepartureDays = new int[size];
+            int[] sortedTotalSeats = new int[size];
+            for (int i = 0; i < size; i++) {
+                int from = (int) keys[i];
+                sortedIds[i] = ids[from];
+                sortedCodes[i] = codes[from];
+                sortedDepartureCityIds[i] = departureCityIds[from];
+                sortedArrivalCityIds[i] = arrivalCityIds[from];
+                sortedDepartureDays[i] = departureDays[from];
+                sortedTotalSeats[i] = totalSeats[from];
+                positionById.put(sortedIds[i], i);
+            }
+            ids = sortedIds;
+            codes = sortedCodes;
+            departureCityIds = sortedDepartureCityIds;
+            arrivalCityIds = sortedArrivalCityIds;
+            departureDays = sortedDepartureDays;
+            totalSeats = sortedTotalSeats;
+        }
+
+        int positionOf(int flightId) {
+            Integer position = positionById.get(flightId);
+            return position == null ? -1 : position;
+        }
+    }
+
+    private static final class ReservationColumns {
+        private int size;
+        private int[] flights = new int[4096];
+        private int[] seats = new int[4096];
+        private long[] revenueCents = new long[4096];
+        private int[] daysBeforeDeparture = new int[4096];
+
+        void add(int flight, int seatCount, long cents, int daysBefore) {
+            if (size == flights.length) {
+                int capacity = size * 2;
+                flights = Arrays.copyOf(flights, capacity);
+                seats = Arrays.copyOf(seats, capacity);
+                revenueCents = Arrays.copyOf(revenueCents, capacity);
+                daysBeforeDeparture = Arrays.copyOf(daysBeforeDeparture, capacity);
+            }
+            flights[size] = flight;
+            seats[size] = seatCount;
+            revenueCents[size] = cents;
+            daysBeforeDeparture[size] = daysBefore;
+            size++;
+        }
+
+        AnalyticsSnapshot toSnapshot(LocalDateTime takenAt, FlightColumns flightColumns) {
+            int flightCount = flightColumns.size;
+            int[] offsets = new int[flightCount + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[flights[i] + 1]++;
+            }
+            for (int f = 0; f < flightCount; f++) {
+                offsets[f + 1] += offsets[f];
+            }
+
+            int[] next = Arrays.copyOf(offsets, flightCount);
+            int[] sortedSeats = new int[size];
+            long[] sortedRevenueCents = new long[size];
+            int[] sortedDaysBefore = new int[size];
+            for (int i = 0; i < size; i++) {
+                int at = next[flights[i]]++;
+                sortedSeats[at] = seats[i];
+                sortedRevenueCents[at] = revenueCents[i];
+                sortedDaysBefore[at] = daysBeforeDeparture[i];
+            }
+
+            Map<Long, Integer> routeByCities = new HashMap<>();
+            int[] flightRoutes = new int[flightCount];
+            int[] routeDepartureCityIds = new int[16];
+            int[] routeArrivalCityIds = new int[16];
+            for (int f = 0; f < flightCount; f++) {
+                int departure = flightColumns.departureCityIds[f];
+                int arrival = flightColumns.arrivalCityIds[f];
+                int route = routeByCities.computeIfAbsent(((long) departure << 32) | (arrival & 0xFFFFFFFFL),
+                        key -> routeByCities.size());
+                if (route == routeDepartureCityIds.length) {
+                    routeDepartureCityIds = Arrays.copyOf(routeDepartureCityIds, route * 2);
+                    routeArrivalCityIds = Arrays.copyOf(routeArrivalCityIds, route * 2);
+                }
+                routeDepartureCityIds[route] = departure;
+                routeArrivalCityIds[route] = arrival;
+                flightRoutes[f] = route;
+            }
+            int routeCount = routeByCities.size();
+
+            return new AnalyticsSnapshot(takenAt,
+                    Arrays.copyOf(routeDepartureCityIds, routeCount), Arrays.copyOf(routeArrivalCityIds, routeCount),
+                    Arrays.copyOf(flightColumns.ids, flightCount), Arrays.copyOf(flightColumns.codes, flightCount),
+                    flightRoutes, Arrays.copyOf(flightColumns.departureDays, flightCount),
+                    Arrays.copyOf(flightColumns.totalSeats, flightCount), offsets,
+                    sortedSeats, sortedRevenueCents, sortedDaysBefore);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.flightreservationsystem.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.event.ReservationChangedEvent;
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replicates seat and reservation events between members through the {@code cluster_events}
+ * table. Local events are written in the transaction that caused them, so only committed changes
+ * are replicated; other members poll the table and republish them as {@code Remote*} events,
+ * which keeps their route summaries, lookup caches and availability streams current.
+ * <p>
+ * Rows are read by creation time with a {@code cluster.event-commit-window-ms} overlap, because a
+ * row can become visible some time after its {@code CREATED_AT}; ids seen inside the window are
+ * remembered so overlapping reads are not republished.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterEventLog {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterEventLog.class);
+    private static final String SEAT_EVENT = "SEAT";
+    private static final String RESERVATION_EVENT = "RESERVATION";
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS cluster_events (" +
+            "ID BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+            "TYPE VARCHAR(20) NOT NULL, " +
+            "FLIGHT_ID INT NULL, " +
+            "AVAILABLE_SEATS INT NULL, " +
+            "DELTA INT NULL, " +
+            "RESERVATION_CODE VARCHAR(20) NULL, " +
+            "PASSENGER_EMAIL VARCHAR(255) NULL, " +
+            "MEMBER_ID VARCHAR(100) NOT NULL, " +
+            "CREATED_AT DATETIME(3) NOT NULL, " +
+            "INDEX IDX_CLUSTER_EVENTS_CREATED_AT (CREATED_AT))";
+    private static final String INSERT_SQL =
+            "INSERT INTO cluster_events (TYPE, FLIGHT_ID, AVAILABLE_SEATS, DELTA, RESERVATION_CODE, PASSENGER_EMAIL, " +
+            "MEMBER_ID, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?, NOW(3))";
+    private static final String POLL_SQL =
+            "SELECT ID, TYPE, FLIGHT_ID, AVAILABLE_SEATS, DELTA, RESERVATION_CODE, PASSENGER_EMAIL, MEMBER_ID, CREATED_AT " +
+            "FROM cluster_events WHERE CREATED_AT > TIMESTAMPADD(MICROSECOND, ?, ?) AND MEMBER_ID <> ? ORDER BY ID";
+    private static final String PRUNE_SQL =
+            "DELETE FROM cluster_events WHERE CREATED_AT < TIMESTAMPADD(MICROSECOND, ?, NOW(3))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String memberId;
+    private final long pollIntervalMs;
+    private final long commitWindowMs;
+    private final long retentionMs;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Timestamp> recentlySeen = new HashMap<>();
+    private Timestamp horizon;
+    private long lastPruneMillis;
+
+    public ClusterEventLog(JdbcTemplate jdbcTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           ClusterMembership membership,
+                           @Value("${cluster.event-poll-interval-ms:500}") long pollIntervalMs,
+                           @Value("${cluster.event-commit-window-ms:5000}") long commitWindowMs,
+                           @Value("${cluster.event-retention-ms:600000}") long retentionMs) {
+        if (retentionMs <= commitWindowMs) {
+            throw new IllegalArgumentException("cluster.event-retention-ms must exceed cluster.event-commit-window-ms");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.memberId = membership.getLocalMember().memberId();
+        this.pollIntervalMs = pollIntervalMs;
+        this.commitWindowMs = commitWindowMs;
+        this.retentionMs = retentionMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        horizon = jdbcTemplate.queryForObject("SELECT NOW(3)", Timestamp.class);
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        if (event instanceof RemoteSeatAvailabilityChangedEvent) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL, SEAT_EVENT, event.getFlightId(), event.getAvailableSeats(), event.getDelta(),
+                null, null, memberId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event instanceof RemoteReservationChangedEvent) {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL, RESERVATION_EVENT, null, null, null,
+                event.getReservationCode(), event.getPassengerEmail(), memberId);
+    }
+
+    private void poll() {
+        try {
+            List<Object> events = new ArrayList<>();
+            Timestamp newest = horizon;
+            for (Map<String, Object> row : jdbcTemplate.queryForList(POLL_SQL, -commitWindowMs * 1000, horizon, memberId)) {
+                Long id = ((Number) row.get("ID")).longValue();
+                Timestamp createdAt = (Timestamp) row.get("CREATED_AT");
+                if (recentlySeen.putIfAbsent(id, createdAt) != null) {
+                    continue;
+                }
+                if (createdAt.after(newest)) {
+                    newest = createdAt;
+                }
+                events.add(toEvent(row));
+            }
+            horizon = newest;
+            Timestamp forgetBefore = new Timestamp(newest.getTime() - commitWindowMs);
+            recentlySeen.values().removeIf(createdAt -> createdAt.before(forgetBefore));
+
+            for (Object event : events) {
+                eventPublisher.publishEvent(event);
+            }
+            pruneIfDue();
+        } catch (RuntimeException e) {
+            logger.warn("Polling cluster events failed: {}", e.getMessage());
+        }
+    }
+
+    private Object toEvent(Map<String, Object> row) {
+        String origin = (String) row.get("MEMBER_ID");
+        if (SEAT_EVENT.equals(row.get("TYPE"))) {
+            return new RemoteSeatAvailabilityChangedEvent((Integer) row.get("FLIGHT_ID"),
+                    (Integer) row.get("AVAILABLE_SEATS"), (Integer) row.get("DELTA"), origin);
+        }
+        return new RemoteReservationChangedEvent((String) row.get("RESERVATION_CODE"),
+                (String) row.get("PASSENGER_EMAIL"), origin);
+    }
+
+    private void pruneIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastPruneMillis < retentionMs / 10) {
+            return;
+        }
+        lastPruneMillis = now;
+        try {
+            int pruned = jdbcTemplate.update(PRUNE_SQL, -retentionMs * 1000);
+            if (pruned > 0) {
+                logger.debug("Pruned {} cluster events", pruned);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Pruning cluster events failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.flightreservationsystem.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.flightreservationsystem.repository.ReservationRepository;
+import org.example.flightreservationsystem.repository.WaitlistRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Finds the member that owns a booking call and relays the call to it. Requests relayed by another
+ * member carry {@link #FORWARDED_HEADER} and are always handled where they arrive, so members with
+ * briefly different views of the ring cannot bounce a request between them.
+ * <p>
+ * The header holds the sending member, a timestamp and an HMAC of both plus the method, path, SOAP
+ * operation and a SHA-256 digest of the body, keyed with {@code cluster.shared-secret}; the body is
+ * buffered for the check by {@link ForwardedRequestFilter}. A header that does not verify is ignored, so clients
+ * cannot use it to make a non-owner handle a booking.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterForwarder {
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded";
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    private final ClusterMembership membership;
+    private final ReservationRepository reservationRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+    private final SecretKeySpec signingKey;
+    private final long maxForwardAgeMs;
+
+    public ClusterForwarder(ClusterMembership membership,
+                            ReservationRepository reservationRepository,
+                            WaitlistRepository waitlistRepository,
+                            ResourceLoader resourceLoader,
+                            @Value("${cluster.trust-store:${server.ssl.key-store:}}") String trustStore,
+                            @Value("${cluster.trust-store-password:${server.ssl.key-store-password:}}") String trustStorePassword,
+                            @Value("${cluster.trust-store-type:${server.ssl.key-store-type:PKCS12}}") String trustStoreType,
+                            @Value("${cluster.forward-timeout-ms:5000}") long timeoutMs,
+                            @Value("${cluster.shared-secret:}") String sharedSecret,
+                            @Value("${cluster.forward-max-age-ms:30000}") long maxForwardAgeMs) {
+        if (sharedSecret.length() < 16) {
+            throw new IllegalStateException("cluster.shared-secret must be set to at least 16 characters when cluster.enabled=true");
+        }
+        this.membership = membership;
+        this.reservationRepository = reservationRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.signingKey = new SecretKeySpec(sharedSecret.getBytes(StandardCharsets.UTF_8), SIGNATURE_ALGORITHM);
+        this.maxForwardAgeMs = maxForwardAgeMs;
+
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(timeout);
+        if (!trustStore.isBlank()) {
+            builder.sslContext(sslContext(resourceLoader, trustStore, trustStorePassword, trustStoreType));
+        }
+        this.httpClient = builder.build();
+    }
+
+    public ClusterMember remoteOwnerOfFlight(Integer flightId) {
+        if (flightId == null) {
+            return null;
+        }
+        ClusterMember owner = membership.ownerOf(flightId);
+        return owner.equals(membership.getLocalMember()) ? null : owner;
+    }
+
+    public ClusterMember remoteOwnerOfReservation(String reservationCode) {
+        return reservationCode == null ? null
+                : remoteOwnerOfFlight(reservationRepository.findFlightIdByReservationCode(reservationCode));
+    }
+
+    public ClusterMember remoteOwnerOfWaitlistEntry(Integer waitlistId) {
+        return waitlistId == null ? null : remoteOwnerOfFlight(waitlistRepository.findFlightIdById(waitlistId));
+    }
+
+    public ClusterMember remoteOwnerOfCancellationJob(String jobId) {
+        int separator = jobId == null ? -1 : jobId.indexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return remoteOwnerOfFlight(Integer.valueOf(jobId.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the request was relayed by a member of this cluster, i.e. carries a
+     * {@link #FORWARDED_HEADER} that verifies against the shared secret, the SOAP {@code operation}
+     * (null for JSON calls) and the body, and is not older than {@code cluster.forward-max-age-ms}. A relayed request is refused while the lease of this member
+     * has lapsed, since the sender may be routing to a member the others already dropped.
+     */
+    public boolean isForwardedByMember(HttpServletRequest request, String operation) {
+        String header = request.getHeader(FORWARDED_HEADER);
+        if (header == null || !(request.getAttribute(ForwardedRequestFilter.BODY_DIGEST_ATTRIBUTE) instanceof byte[] bodyDigest)) {
+            return false;
+        }
+        String[] parts = header.split(";", 3);
+        if (parts.length != 3) {
+            return false;
+        }
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - sentAt) > maxForwardAgeMs) {
+            return false;
+        }
+        byte[] expected = sign(parts[0], sentAt, request.getMethod(), request.getRequestURI(), operation, bodyDigest);
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return false;
+        }
+        membership.requireLease();
+        return true;
+    }
+
+    public HttpResponse<byte[]> forward(ClusterMember owner, String method, String path, String operation, byte[] body,
+                                        Map<String, String> headers) {
+        String memberId = membership.getLocalMember().memberId();
+        long sentAt = System.currentTimeMillis();
+        String signature = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                sign(memberId, sentAt, method, path, operation, ForwardedRequestFilter.digest(body)));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner.baseUrl() + path))
+                .timeout(timeout)
+                .header(FORWARDED_HEADER, memberId + ";" + sentAt + ";" + signature)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach((name, value) -> {
+            if (value != null) {
+                request.header(name, value);
+            }
+        });
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cluster member " + owner.memberId() + " is unavailable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while forwarding to " + owner.memberId(), e);
+        }
+    }
+
+    private byte[] sign(String memberId, long sentAt, String method, String path, String operation, byte[] bodyDigest) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(signingKey);
+            mac.update((memberId + ";" + sentAt + ";" + method + " " + path + ";" + (operation == null ? "" : operation) + ";")
+                    .getBytes(StandardCharsets.UTF_8));
+            return mac.doFinal(bodyDigest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign forwarded request", e);
+        }
+    }
+
+    private static SSLContext sslContext(ResourceLoader resourceLoader, String location, String password, String type) {
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance(type);
+            keyStore.load(in, password.toCharArray());
+            TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagers.init(keyStore);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trustManagers.getTrustManagers(), null);
+            return context;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot load cluster trust store " + location, e);
+        }
+    }
+}
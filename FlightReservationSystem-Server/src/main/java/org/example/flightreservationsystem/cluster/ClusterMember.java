@@ -0,0 +1,4 @@
+package org.example.flightreservationsystem.cluster;
+
+public record ClusterMember(String memberId, String baseUrl) {
+}
@@ -0,0 +1,193 @@
+package org.example.flightreservationsystem.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.event.ClusterTopologyChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease-based membership kept in the {@code cluster_members} table. Every member renews its own
+ * lease and reads the live set on each heartbeat, using the database clock for both, and rebuilds
+ * the hash ring when the set changes. Heartbeats run on their own thread so a long scheduled job
+ * cannot let the lease lapse, and topology changes are published from another thread so slow
+ * listeners cannot either.
+ * <p>
+ * A member whose last successful renewal is older than {@code cluster.lease-ttl-ms} may already
+ * have been dropped by the others, so it stops owning flights: {@link #isLocal} returns false and
+ * {@link #ownerOf} refuses to answer until a renewal succeeds again.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterMembership implements FlightOwnership {
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS cluster_members (" +
+            "MEMBER_ID VARCHAR(100) NOT NULL PRIMARY KEY, " +
+            "BASE_URL VARCHAR(255) NOT NULL, " +
+            "LEASE_EXPIRES_AT DATETIME(3) NOT NULL, " +
+            "JOINED_AT DATETIME(3) NOT NULL)";
+    private static final String RENEW_LEASE_SQL =
+            "INSERT INTO cluster_members (MEMBER_ID, BASE_URL, LEASE_EXPIRES_AT, JOINED_AT) " +
+            "VALUES (?, ?, TIMESTAMPADD(MICROSECOND, ?, NOW(3)), NOW(3)) " +
+            "ON DUPLICATE KEY UPDATE BASE_URL = VALUES(BASE_URL), LEASE_EXPIRES_AT = VALUES(LEASE_EXPIRES_AT)";
+    private static final String LIVE_MEMBERS_SQL =
+            "SELECT MEMBER_ID, BASE_URL FROM cluster_members WHERE LEASE_EXPIRES_AT > NOW(3) ORDER BY MEMBER_ID";
+    private static final String PRUNE_SQL =
+            "DELETE FROM cluster_members WHERE LEASE_EXPIRES_AT < TIMESTAMPADD(MINUTE, -10, NOW(3))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClusterMember localMember;
+    private final long leaseTtlMs;
+    private final long heartbeatIntervalMs;
+    private final int virtualNodes;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService topologyNotifier = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-topology");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ConsistentHashRing ring;
+    private volatile long leaseValidUntilNanos;
+
+    public ClusterMembership(JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${cluster.member-id:}") String memberId,
+                             @Value("${cluster.advertised-url:https://localhost:${server.port:8080}}") String advertisedUrl,
+                             @Value("${server.port:8080}") int serverPort,
+                             @Value("${cluster.lease-ttl-ms:10000}") long leaseTtlMs,
+                             @Value("${cluster.heartbeat-interval-ms:3000}") long heartbeatIntervalMs,
+                             @Value("${cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${reservations.journal.enabled:false}") boolean journalEnabled) {
+        if (journalEnabled) {
+            throw new IllegalStateException("cluster.enabled cannot be combined with reservations.journal.enabled: " +
+                    "journaled seat counters are local to one process");
+        }
+        if (heartbeatIntervalMs * 2 > leaseTtlMs) {
+            throw new IllegalArgumentException("cluster.lease-ttl-ms must be at least twice cluster.heartbeat-interval-ms");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.localMember = new ClusterMember(memberId.isBlank() ? defaultMemberId(serverPort) : memberId,
+                advertisedUrl.endsWith("/") ? advertisedUrl.substring(0, advertisedUrl.length() - 1) : advertisedUrl);
+        this.leaseTtlMs = leaseTtlMs;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.virtualNodes = virtualNodes;
+    }
+
+    @PostConstruct
+    public void join() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        renewLease();
+        heartbeat.scheduleWithFixedDelay(this::renewLease, heartbeatIntervalMs, heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+        logger.info("Joined cluster as {} ({})", localMember.memberId(), localMember.baseUrl());
+    }
+
+    @PreDestroy
+    public void leave() {
+        heartbeat.shutdownNow();
+        topologyNotifier.shutdownNow();
+        try {
+            jdbcTemplate.update("DELETE FROM cluster_members WHERE MEMBER_ID = ?", localMember.memberId());
+        } catch (DataAccessException e) {
+            logger.warn("Could not remove cluster lease of {}; it expires in {} ms", localMember.memberId(), leaseTtlMs);
+        }
+    }
+
+    @Override
+    public boolean isLocal(Integer flightId) {
+        return hasLease() && ring.ownerOf(flightId).equals(localMember);
+    }
+
+    @Override
+    public ClusterMember ownerOf(Integer flightId) {
+        requireLease();
+        return ring.ownerOf(flightId);
+    }
+
+    /**
+     * Fails when the lease of this member has lapsed, i.e. when it can no longer be sure that the
+     * other members still route its flights to it.
+     */
+    public void requireLease() {
+        if (!hasLease()) {
+            throw new IllegalStateException("Cluster lease of " + localMember.memberId() + " has lapsed; " +
+                    "flight ownership is unknown until it is renewed");
+        }
+    }
+
+    @Override
+    public ClusterMember getLocalMember() {
+        return localMember;
+    }
+
+    public List<ClusterMember> getMembers() {
+        return ring.getMembers();
+    }
+
+    private boolean hasLease() {
+        return System.nanoTime() - leaseValidUntilNanos < 0;
+    }
+
+    private void renewLease() {
+        long renewalStarted = System.nanoTime();
+        try {
+            jdbcTemplate.update(RENEW_LEASE_SQL, localMember.memberId(), localMember.baseUrl(), leaseTtlMs * 1000);
+            List<ClusterMember> members = jdbcTemplate.query(LIVE_MEMBERS_SQL,
+                    (rs, rowNum) -> new ClusterMember(rs.getString("MEMBER_ID"), rs.getString("BASE_URL")));
+            jdbcTemplate.update(PRUNE_SQL);
+            leaseValidUntilNanos = renewalStarted + leaseTtlMs * 1_000_000;
+
+            ConsistentHashRing current = ring;
+            if (current == null || !current.getMembers().equals(members)) {
+                ring = new ConsistentHashRing(members, virtualNodes);
+                List<String> memberIds = members.stream().map(ClusterMember::memberId).toList();
+                logger.info("Cluster topology changed: {}", memberIds);
+                if (current != null) {
+                    topologyNotifier.execute(() -> publishTopologyChange(memberIds));
+                }
+            }
+        } catch (DataAccessException e) {
+            if (ring == null) {
+                throw e;
+            }
+            logger.warn("Cluster lease renewal of {} failed: {}", localMember.memberId(), e.getMessage());
+        }
+    }
+
+    private void publishTopologyChange(List<String> memberIds) {
+        try {
+            eventPublisher.publishEvent(new ClusterTopologyChangedEvent(memberIds));
+        } catch (RuntimeException e) {
+            logger.error("Handling cluster topology change to {} failed", memberIds, e);
+        }
+    }
+
+    private static String defaultMemberId(int serverPort) {
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + serverPort;
+        } catch (UnknownHostException e) {
+            return "localhost-" + serverPort;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.flightreservationsystem.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps flight ids onto members. Each member is placed on the ring at {@code virtualNodes} points,
+ * so adding or removing a member only moves the flights adjacent to its points.
+ */
+public final class ConsistentHashRing {
+    private final List<ClusterMember> members;
+    private final long[] points;
+    private final ClusterMember[] owners;
+
+    public ConsistentHashRing(List<ClusterMember> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one member");
+        }
+        this.members = List.copyOf(members);
+
+        long[] keys = new long[members.size() * virtualNodes];
+        int i = 0;
+        for (int member = 0; member < members.size(); member++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                long point = hash(members.get(member).memberId() + "#" + node);
+                keys[i++] = (point & ~0xFFFFL) | member;
+            }
+        }
+        Arrays.sort(keys);
+
+        this.points = new long[keys.length];
+        this.owners = new ClusterMember[keys.length];
+        for (int k = 0; k < keys.length; k++) {
+            points[k] = keys[k] & ~0xFFFFL;
+            owners[k] = members.get((int) (keys[k] & 0xFFFFL));
+        }
+    }
+
+    public ClusterMember ownerOf(int flightId) {
+        long key = mix(flightId);
+        int index = Arrays.binarySearch(points, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<ClusterMember> getMembers() {
+        return members;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
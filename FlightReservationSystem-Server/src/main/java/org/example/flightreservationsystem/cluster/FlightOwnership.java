@@ -0,0 +1,7 @@
+package org.example.flightreservationsystem.cluster;
+
+public interface FlightOwnership {
+    boolean isLocal(Integer flightId);
+    ClusterMember ownerOf(Integer flightId);
+    ClusterMember getLocalMember();
+}
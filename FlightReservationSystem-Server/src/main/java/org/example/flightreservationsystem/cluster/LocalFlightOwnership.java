@@ -0,0 +1,25 @@
+package org.example.flightreservationsystem.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalFlightOwnership implements FlightOwnership {
+    private static final ClusterMember LOCAL = new ClusterMember("local", null);
+
+    @Override
+    public boolean isLocal(Integer flightId) {
+        return true;
+    }
+
+    @Override
+    public ClusterMember ownerOf(Integer flightId) {
+        return LOCAL;
+    }
+
+    @Override
+    public ClusterMember getLocalMember() {
+        return LOCAL;
+    }
+}
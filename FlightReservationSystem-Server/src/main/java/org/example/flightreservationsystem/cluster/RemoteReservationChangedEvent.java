@@ -0,0 +1,19 @@
+package org.example.flightreservationsystem.cluster;
+
+import org.example.flightreservationsystem.event.ReservationChangedEvent;
+
+/**
+ * A reservation change committed by another member, replayed locally so read models follow it.
+ */
+public class RemoteReservationChangedEvent extends ReservationChangedEvent {
+    private final String memberId;
+
+    public RemoteReservationChangedEvent(String reservationCode, String passengerEmail, String memberId) {
+        super(reservationCode, passengerEmail);
+        this.memberId = memberId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.flightreservationsystem.cluster;
+
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+
+/**
+ * A seat change committed by another member, replayed locally so read models follow it.
+ */
+public class RemoteSeatAvailabilityChangedEvent extends SeatAvailabilityChangedEvent {
+    private final String memberId;
+
+    public RemoteSeatAvailabilityChangedEvent(Integer flightId, Integer availableSeats, Integer delta, String memberId) {
+        super(flightId, availableSeats, delta);
+        this.memberId = memberId;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.flightreservationsystem.compression;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "soap.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> soapCompressionFilter(
+            CompressionStats compressionStats,
+            @Value("${soap.compression.min-response-size:2048}") int minResponseSize,
+            @Value("${soap.compression.operation-min-response-sizes:getReservationPdfRequest:-1}") String[] operationMinResponseSizes,
+            @Value("${soap.compression.excluded-content-types:multipart/related,application/pdf,application/zip,application/gzip,image/}") String[] excludedContentTypes,
+            @Value("${soap.compression.level:6}") int level,
+            @Value("${soap.compression.max-request-size:10485760}") long maxRequestSize) {
+        CompressionFilter filter = new CompressionFilter(
+                compressionStats,
+                minResponseSize,
+                parseOperationSizes(operationMinResponseSizes),
+                Arrays.stream(excludedContentTypes).map(type -> type.trim().toLowerCase(Locale.ROOT)).toList(),
+                level,
+                maxRequestSize);
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/ws/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private Map<String, Integer> parseOperationSizes(String[] entries) {
+        Map<String, Integer> sizes = new HashMap<>();
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid operation compression threshold: " + entry);
+            }
+            sizes.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(sizes);
+    }
+}
@@ -0,0 +1,716 @@
+package org.example.flightreservationsystem.compression;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.example.flightreservationsystem.handler.OperationNameHandler;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+public class CompressionFilter extends OncePerRequestFilter {
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CompressionStats stats;
+    private final int defaultMinResponseSize;
+    private final Map<String, Integer> operationMinResponseSizes;
+    private final List<String> excludedContentTypes;
+    private final int level;
+    private final long maxRequestSize;
+
+    public CompressionFilter(CompressionStats stats,
+                             int defaultMinResponseSize,
+                             Map<String, Integer> operationMinResponseSizes,
+                             List<String> excludedContentTypes,
+                             int level,
+                             long maxRequestSize) {
+        this.stats = stats;
+        this.defaultMinResponseSize = defaultMinResponseSize;
+        this.operationMinResponseSizes = operationMinResponseSizes;
+        this.excludedContentTypes = excludedContentTypes;
+        this.level = level;
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletRequest effectiveRequest = request;
+        DecompressingRequest decompressingRequest = null;
+        String requestEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (requestEncoding != null && !requestEncoding.isBlank() && !"identity".equalsIgnoreCase(requestEncoding.trim())) {
+            String encoding = requestEncoding.trim().toLowerCase(Locale.ROOT);
+            if (!GZIP.equals(encoding) && !DEFLATE.equals(encoding)) {
+                response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Unsupported Content-Encoding: " + requestEncoding);
+                return;
+            }
+            decompressingRequest = new DecompressingRequest(request, encoding, maxRequestSize);
+            effectiveRequest = decompressingRequest;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String responseEncoding = negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (responseEncoding == null) {
+            try {
+                filterChain.doFilter(effectiveRequest, response);
+            } finally {
+                recordRequest(request, decompressingRequest);
+            }
+            return;
+        }
+
+        CompressingResponse compressingResponse = new CompressingResponse(effectiveRequest, response, responseEncoding);
+        try {
+            filterChain.doFilter(new AsyncAwareRequest(effectiveRequest, compressingResponse), compressingResponse);
+            if (!request.isAsyncStarted()) {
+                compressingResponse.finish();
+            }
+        } finally {
+            compressingResponse.release();
+            recordRequest(request, decompressingRequest);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    static String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        double gzipQuality = 0;
+        double deflateQuality = 0;
+        double wildcardQuality = 0;
+        boolean gzipListed = false;
+        boolean deflateListed = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case GZIP, "x-gzip" -> {
+                    gzipQuality = quality;
+                    gzipListed = true;
+                }
+                case DEFLATE -> {
+                    deflateQuality = quality;
+                    deflateListed = true;
+                }
+                case "*" -> wildcardQuality = quality;
+                default -> {
+                }
+            }
+        }
+        if (!gzipListed) {
+            gzipQuality = wildcardQuality;
+        }
+        if (!deflateListed) {
+            deflateQuality = wildcardQuality;
+        }
+        if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+            return GZIP;
+        }
+        return deflateQuality > 0 ? DEFLATE : null;
+    }
+
+    private void recordRequest(HttpServletRequest request, DecompressingRequest decompressingRequest) {
+        if (decompressingRequest != null) {
+            stats.recordDecompressedRequest(request.getContentLengthLong(), decompressingRequest.getDecompressedBytes());
+        }
+    }
+
+    private int minResponseSize(HttpServletRequest request) {
+        Object operation = request.getAttribute(OperationNameHandler.OPERATION_ATTRIBUTE);
+        if (operation != null) {
+            Integer operationMinSize = operationMinResponseSizes.get(operation.toString());
+            if (operationMinSize != null) {
+                return operationMinSize;
+            }
+        }
+        return defaultMinResponseSize;
+    }
+
+    private boolean isCompressible(HttpServletResponse response) {
+        if (response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        String normalized = contentType.toLowerCase(Locale.ROOT);
+        for (String excluded : excludedContentTypes) {
+            if (normalized.startsWith(excluded)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+        private final HttpServletRequest request;
+        private final String encoding;
+        private ThresholdOutputStream outputStream;
+        private PrintWriter writer;
+        private boolean bypassed;
+
+        private CompressingResponse(HttpServletRequest request, HttpServletResponse response, String encoding) {
+            super(response);
+            this.request = request;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called for this response");
+            }
+            if (bypassed && outputStream == null) {
+                return super.getOutputStream();
+            }
+            return stream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (bypassed && writer == null && outputStream == null) {
+                return super.getWriter();
+            }
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called for this response");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(stream(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (outputStream != null) {
+                outputStream.resetBuffer();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (outputStream != null) {
+                outputStream.resetBuffer();
+            }
+            super.reset();
+        }
+
+        private ThresholdOutputStream stream() {
+            if (outputStream == null) {
+                outputStream = new ThresholdOutputStream(this);
+            }
+            return outputStream;
+        }
+
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.finish();
+            }
+        }
+
+        /**
+         * The filter does not run again when asynchronous processing completes, so a response that
+         * goes asynchronous is sent uncompressed: anything buffered so far is written through and
+         * later writes go straight to the container.
+         */
+        private void bypassCompression() throws IOException {
+            bypassed = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.bypass();
+            }
+        }
+
+        private void release() {
+            if (outputStream != null) {
+                outputStream.release();
+            }
+        }
+    }
+
+    private final class ThresholdOutputStream extends ServletOutputStream {
+        private final CompressingResponse response;
+        private ByteArrayOutputStream buffer;
+        private OutputStream target;
+        private CountingOutputStream compressedCounter;
+        private Deflater deflater;
+        private String operation;
+        private int threshold;
+        private boolean thresholdResolved;
+        private long uncompressedBytes;
+        private long cpuNanos;
+        private boolean finished;
+
+        private ThresholdOutputStream(CompressingResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (finished) {
+                throw new IOException("Response has already been written");
+            }
+            if (target == null) {
+                if (!thresholdResolved) {
+                    thresholdResolved = true;
+                    operation = (String) response.request.getAttribute(OperationNameHandler.OPERATION_ATTRIBUTE);
+                    threshold = minResponseSize(response.request);
+                    if (threshold < 0) {
+                        openTarget(false);
+                    } else {
+                        buffer = new ByteArrayOutputStream(Math.min(threshold, BUFFER_SIZE) + 1);
+                    }
+                }
+                if (target == null) {
+                    if (buffer.size() + length < threshold) {
+                        buffer.write(bytes, offset, length);
+                        return;
+                    }
+                    openTarget(isCompressible(response));
+                }
+            }
+            writeToTarget(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null && compressedCounter == null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return compressedCounter != null || !(target instanceof ServletOutputStream servletStream) || servletStream.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (compressedCounter != null || !(target instanceof ServletOutputStream servletStream)) {
+                throw new IllegalStateException("Non-blocking writes are only available once the request is asynchronous");
+            }
+            servletStream.setWriteListener(writeListener);
+        }
+
+        private void bypass() throws IOException {
+            if (compressedCounter != null) {
+                throw new IllegalStateException("Response compression has already started and cannot continue asynchronously");
+            }
+            if (target == null) {
+                thresholdResolved = true;
+                openTarget(false);
+            }
+        }
+
+        private void resetBuffer() {
+            if (target != null) {
+                throw new IllegalStateException("Response has already been committed");
+            }
+            if (buffer != null) {
+                buffer.reset();
+            }
+        }
+
+        private void openTarget(boolean compress) throws IOException {
+            HttpServletResponse servletResponse = (HttpServletResponse) response.getResponse();
+            if (compress) {
+                servletResponse.setHeader(HttpHeaders.CONTENT_ENCODING, response.encoding);
+                compressedCounter = new CountingOutputStream(servletResponse.getOutputStream());
+                if (GZIP.equals(response.encoding)) {
+                    target = new LeveledGzipOutputStream(compressedCounter, level);
+                } else {
+                    deflater = new Deflater(level);
+                    target = new DeflaterOutputStream(compressedCounter, deflater, BUFFER_SIZE);
+                }
+            } else {
+                target = servletResponse.getOutputStream();
+            }
+            if (buffer != null && buffer.size() > 0) {
+                writeToTarget(buffer.toByteArray(), 0, buffer.size());
+            }
+            buffer = null;
+        }
+
+        private void writeToTarget(byte[] bytes, int offset, int length) throws IOException {
+            uncompressedBytes += length;
+            if (compressedCounter == null) {
+                target.write(bytes, offset, length);
+                return;
+            }
+            long start = THREADS.getCurrentThreadCpuTime();
+            target.write(bytes, offset, length);
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - start;
+        }
+
+        private void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (operation == null) {
+                operation = (String) response.request.getAttribute(OperationNameHandler.OPERATION_ATTRIBUTE);
+            }
+            if (target == null) {
+                HttpServletResponse servletResponse = (HttpServletResponse) response.getResponse();
+                int length = buffer == null ? 0 : buffer.size();
+                servletResponse.setContentLength(length);
+                if (length > 0) {
+                    buffer.writeTo(servletResponse.getOutputStream());
+                }
+                stats.recordUncompressed(operation, length);
+                return;
+            }
+            if (compressedCounter == null) {
+                stats.recordUncompressed(operation, uncompressedBytes);
+                return;
+            }
+            long start = THREADS.getCurrentThreadCpuTime();
+            ((DeflaterOutputStream) target).finish();
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - start;
+            stats.recordCompressed(operation, uncompressedBytes, compressedCounter.getCount(), cpuNanos);
+        }
+
+        private void release() {
+            if (target instanceof LeveledGzipOutputStream gzipOutputStream) {
+                gzipOutputStream.end();
+            }
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+
+        private void end() {
+            def.end();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            count += length;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+
+    private static final class AsyncAwareRequest extends HttpServletRequestWrapper {
+        private final CompressingResponse response;
+
+        private AsyncAwareRequest(HttpServletRequest request, CompressingResponse response) {
+            super(request);
+            this.response = response;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            bypassCompression();
+            return super.startAsync();
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            bypassCompression();
+            return super.startAsync(servletRequest, servletResponse);
+        }
+
+        private void bypassCompression() {
+            try {
+                response.bypassCompression();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class DecompressingRequest extends HttpServletRequestWrapper {
+        private final String encoding;
+        private final long maxSize;
+        private LimitedInputStream inputStream;
+        private BufferedReader reader;
+
+        private DecompressingRequest(HttpServletRequest request, String encoding, long maxSize) {
+            super(request);
+            this.encoding = encoding;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("getReader() has already been called for this request");
+            }
+            return stream();
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                if (inputStream != null) {
+                    throw new IllegalStateException("getInputStream() has already been called for this request");
+                }
+                String characterEncoding = getCharacterEncoding();
+                Charset charset = characterEncoding == null ? Charset.forName("ISO-8859-1") : Charset.forName(characterEncoding);
+                reader = new BufferedReader(new InputStreamReader(stream(), charset));
+            }
+            return reader;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHiddenHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHiddenHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(this::isHiddenHeader);
+            return Collections.enumeration(names);
+        }
+
+        private boolean isHiddenHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+
+        private LimitedInputStream stream() throws IOException {
+            if (inputStream == null) {
+                InputStream compressed = super.getInputStream();
+                InputStream decompressed = GZIP.equals(encoding)
+                        ? new GZIPInputStream(compressed, BUFFER_SIZE)
+                        : new InflaterInputStream(compressed);
+                inputStream = new LimitedInputStream(this, decompressed, maxSize);
+            }
+            return inputStream;
+        }
+
+        private long getDecompressedBytes() {
+            return inputStream == null ? 0 : inputStream.count;
+        }
+    }
+
+    private static final class LimitedInputStream extends ServletInputStream {
+        private final HttpServletRequest request;
+        private final InputStream in;
+        private final long maxSize;
+        private long count;
+        private boolean finished;
+
+        private LimitedInputStream(HttpServletRequest request, InputStream in, long maxSize) {
+            this.request = request;
+            this.in = in;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                finished = true;
+            } else {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = in.read(bytes, offset, length);
+            if (read < 0) {
+                finished = true;
+            } else {
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Decompression reads the body with blocking reads, so the stream is always ready. As with
+         * any stream whose {@link #isReady()} never returns false, the listener is called once on a
+         * container thread and is expected to read until the end of the body.
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            AsyncContext asyncContext = request.getAsyncContext();
+            asyncContext.start(() -> {
+                try {
+                    readListener.onDataAvailable();
+                    if (finished) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (Throwable t) {
+                    readListener.onError(t);
+                }
+            });
+        }
+
+        private void advance(int read) throws IOException {
+            count += read;
+            if (count > maxSize) {
+                throw new IOException("Decompressed request body exceeds " + maxSize + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.flightreservationsystem.compression;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class CompressionStats {
+    private static final Logger logger = LoggerFactory.getLogger(CompressionStats.class);
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder compressedRequestBytes = new LongAdder();
+    private final LongAdder decompressedRequestBytes = new LongAdder();
+
+    public void recordCompressed(String operation, long uncompressedBytes, long compressedBytes, long cpuNanos) {
+        OperationStats stats = statsFor(operation);
+        stats.compressed.increment();
+        stats.uncompressedBytes.add(uncompressedBytes);
+        stats.compressedBytes.add(compressedBytes);
+        stats.cpuNanos.add(cpuNanos);
+    }
+
+    public void recordUncompressed(String operation, long bytes) {
+        OperationStats stats = statsFor(operation);
+        stats.uncompressed.increment();
+        stats.passedThroughBytes.add(bytes);
+    }
+
+    public void recordDecompressedRequest(long compressedBytes, long decompressedBytes) {
+        compressedRequests.increment();
+        if (compressedBytes > 0) {
+            compressedRequestBytes.add(compressedBytes);
+        }
+        decompressedRequestBytes.add(decompressedBytes);
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        operations.forEach((operation, stats) -> snapshot.put(operation, stats.snapshot()));
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${soap.compression.stats-log-interval-ms:300000}",
+            initialDelayString = "${soap.compression.stats-log-interval-ms:300000}")
+    public void logStats() {
+        snapshot().forEach((operation, stats) -> {
+            if (stats.compressed() > 0 || stats.uncompressed() > 0) {
+                logger.info("Compression {}: {} compressed ({} -> {} bytes, ratio {}, {} us CPU/response), {} uncompressed ({} bytes)",
+                        operation, stats.compressed(), stats.uncompressedBytes(), stats.compressedBytes(),
+                        String.format("%.2f", stats.ratio()), stats.cpuMicrosPerResponse(),
+                        stats.uncompressed(), stats.passedThroughBytes());
+            }
+        });
+        if (compressedRequests.sum() > 0) {
+            logger.info("Compressed requests: {} ({} -> {} bytes)",
+                    compressedRequests.sum(), compressedRequestBytes.sum(), decompressedRequestBytes.sum());
+        }
+    }
+
+    private OperationStats statsFor(String operation) {
+        return operations.computeIfAbsent(operation == null ? "unknown" : operation, key -> new OperationStats());
+    }
+
+    public record Snapshot(long compressed, long uncompressed, long uncompressedBytes, long compressedBytes,
+                           long passedThroughBytes, long cpuNanos) {
+
+        public double ratio() {
+            return compressedBytes == 0 ? 0 : (double) uncompressedBytes / compressedBytes;
+        }
+
+        public long cpuMicrosPerResponse() {
+            return compressed == 0 ? 0 : cpuNanos / compressed / 1000;
+        }
+    }
+
+    private static final class OperationStats {
+        private final LongAdder compressed = new LongAdder();
+        private final LongAdder uncompressed = new LongAdder();
+        private final LongAdder uncompressedBytes = new LongAdder();
+        private final LongAdder compressedBytes = new LongAdder();
+        private final LongAdder passedThroughBytes = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+
+        private Snapshot snapshot() {
+            return new Snapshot(compressed.sum(), uncompressed.sum(), uncompressedBytes.sum(),
+                    compressedBytes.sum(), passedThroughBytes.sum(), cpuNanos.sum());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.flightreservationsystem.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.tomcat.util.net.SSLHostConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunes the TLS connector: session cache, OpenSSL and HTTP/2 settings. {@code tls.session-tickets}
+ * applies to the OpenSSL implementation; with JSSE, session tickets follow the JVM's
+ * {@code jdk.tls.server.enableSessionTicketExtension} system property, which is left to the launch command.
+ */
+@Component
+public class TlsConnectorConfig implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+    private static final Logger logger = LoggerFactory.getLogger(TlsConnectorConfig.class);
+    private static final String OPENSSL_IMPLEMENTATION = "org.apache.tomcat.util.net.openssl.OpenSSLImplementation";
+
+    private final int sessionCacheSize;
+    private final int sessionTimeoutSeconds;
+    private final boolean sessionTickets;
+    private final boolean openSsl;
+    private final int maxConcurrentStreams;
+    private final int keepAliveTimeoutMs;
+
+    public TlsConnectorConfig(@Value("${tls.session-cache-size:20480}") int sessionCacheSize,
+                              @Value("${tls.session-timeout-seconds:86400}") int sessionTimeoutSeconds,
+                              @Value("${tls.session-tickets:true}") boolean sessionTickets,
+                              @Value("${tls.openssl.enabled:false}") boolean openSsl,
+                              @Value("${http2.max-concurrent-streams:200}") int maxConcurrentStreams,
+                              @Value("${http2.keep-alive-timeout-ms:30000}") int keepAliveTimeoutMs) {
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+        this.sessionTickets = sessionTickets;
+        this.openSsl = openSsl;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.keepAliveTimeoutMs = keepAliveTimeoutMs;
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        factory.addConnectorCustomizers(connector -> {
+            ProtocolHandler protocolHandler = connector.getProtocolHandler();
+            if (protocolHandler instanceof AbstractHttp11Protocol<?> http11Protocol) {
+                if (openSsl) {
+                    http11Protocol.setSslImplementationName(OPENSSL_IMPLEMENTATION);
+                }
+                for (SSLHostConfig sslHostConfig : http11Protocol.findSslHostConfigs()) {
+                    sslHostConfig.setSessionCacheSize(sessionCacheSize);
+                    sslHostConfig.setSessionTimeout(sessionTimeoutSeconds);
+                    sslHostConfig.setDisableSessionTickets(!sessionTickets);
+                }
+            }
+            for (UpgradeProtocol upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol http2Protocol) {
+                    http2Protocol.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2Protocol.setKeepAliveTimeout(keepAliveTimeoutMs);
+                }
+            }
+            logger.info("TLS connector on port {}: {}, session cache {} x {}s, session tickets {}",
+                    connector.getPort(), openSsl ? "OpenSSL" : "JSSE", sessionCacheSize, sessionTimeoutSeconds, sessionTickets);
+        });
+    }
+}
@@ -1,6 +1,10 @@
 package org.example.flightreservationsystem.config;
 
+import org.example.flightreservationsystem.cluster.ClusterForwarder;
+import org.example.flightreservationsystem.handler.ClusterForwardingHandler;
 import org.example.flightreservationsystem.handler.LoggingHandler;
+import org.example.flightreservationsystem.handler.OperationNameHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +25,12 @@ import java.util.List;
 @Configuration
 public class WebServiceConfig extends WsConfigurerAdapter {
 
+    private final ObjectProvider<ClusterForwarder> clusterForwarder;
+
+    public WebServiceConfig(ObjectProvider<ClusterForwarder> clusterForwarder) {
+        this.clusterForwarder = clusterForwarder;
+    }
+
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext applicationContext) {
         MessageDispatcherServlet servlet = new MessageDispatcherServlet();
@@ -56,6 +66,8 @@ public class WebServiceConfig extends WsConfigurerAdapter {
     @Override
     public void addInterceptors(List<EndpointInterceptor> interceptors) {
         interceptors.add(new LoggingHandler());
+        interceptors.add(new OperationNameHandler());
+        clusterForwarder.ifAvailable(forwarder -> interceptors.add(new ClusterForwardingHandler(forwarder)));
         interceptors.add(payloadValidatingInterceptor());
     }
 }
@@ -0,0 +1,75 @@
+package org.example.flightreservationsystem.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.pricing.PricingEngine;
+import org.example.flightreservationsystem.service.FlightService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/json/flights")
+public class FlightJsonController {
+
+    private final FlightService flightService;
+    private final PricingEngine pricingEngine;
+    private final ObjectMapper objectMapper;
+
+    public FlightJsonController(FlightService flightService, PricingEngine pricingEngine, ObjectMapper objectMapper) {
+        this.flightService = flightService;
+        this.pricingEngine = pricingEngine;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<StreamingResponseBody> getFlight(@PathVariable Integer id) {
+        FlightDTO flight = flightService.getFlightByIdWithCities(id);
+        return json(out -> {
+            try (JsonGenerator generator = JsonWriter.open(objectMapper, out)) {
+                JsonWriter.writeFlight(generator, flight, pricingEngine::getFare);
+            }
+        });
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getAllFlights() {
+        return writeFlights(flightService.getAllFlightsWithCities());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<StreamingResponseBody> searchFlights(
+            @RequestParam Integer departureCityId,
+            @RequestParam Integer arrivalCityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime returnDate) {
+        return writeFlights(flightService.findFlightsBetweenCitiesWithCities(
+                departureCityId, arrivalCityId, departureDate, returnDate));
+    }
+
+    private ResponseEntity<StreamingResponseBody> writeFlights(List<FlightDTO> flights) {
+        return json(out -> {
+            try (JsonGenerator generator = JsonWriter.open(objectMapper, out)) {
+                generator.writeStartArray();
+                for (FlightDTO flight : flights) {
+                    JsonWriter.writeFlight(generator, flight, pricingEngine::getFare);
+                }
+                generator.writeEndArray();
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> json(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.flightreservationsystem.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.ReservationDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+public final class JsonWriter {
+
+    private JsonWriter() {
+    }
+
+    public static JsonGenerator open(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    public static void writeFlight(JsonGenerator generator, FlightDTO flight,
+                                   Function<FlightDTO, BigDecimal> currentPrice) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", flight.getId());
+        generator.writeStringField("flightCode", flight.getFlightCode());
+        writeCity(generator, "departureCity", flight.getDepartureCity());
+        writeCity(generator, "arrivalCity", flight.getArrivalCity());
+        writeDateTime(generator, "departureDatetime", flight.getDepartureDatetime());
+        writeDateTime(generator, "arrivalDatetime", flight.getArrivalDatetime());
+        generator.writeNumberField("totalSeats", flight.getTotalSeats());
+        generator.writeNumberField("availableSeats", flight.getAvailableSeats());
+        generator.writeNumberField("basePrice", flight.getBasePrice());
+        if (currentPrice != null) {
+            generator.writeNumberField("currentPrice", currentPrice.apply(flight));
+        }
+        generator.writeEndObject();
+    }
+
+    public static void writeReservation(JsonGenerator generator, ReservationDTO reservation,
+                                        Function<FlightDTO, BigDecimal> currentPrice) throws IOException {
+        generator.writeStartObject();
+        if (reservation.getId() != null) {
+            generator.writeNumberField("id", reservation.getId());
+        }
+        generator.writeStringField("reservationCode", reservation.getReservationCode());
+        generator.writeStringField("passengerFirstname", reservation.getPassengerFirstname());
+        generator.writeStringField("passengerLastname", reservation.getPassengerLastname());
+        generator.writeStringField("passengerEmail", reservation.getPassengerEmail());
+        generator.writeNumberField("seatsReserved", reservation.getSeatsReserved());
+        generator.writeNumberField("totalPrice", reservation.getTotalPrice());
+        writeDateTime(generator, "reservationDate", reservation.getReservationDate());
+        if (reservation.getSeatNumbers() != null && !reservation.getSeatNumbers().isBlank()) {
+            generator.writeArrayFieldStart("seatNumbers");
+            for (String seatNumber : reservation.getSeatNumbers().split(",")) {
+                generator.writeString(seatNumber);
+            }
+            generator.writeEndArray();
+        }
+        if (reservation.getFlight() != null) {
+            generator.writeFieldName("flight");
+            writeFlight(generator, reservation.getFlight(), currentPrice);
+        }
+        generator.writeEndObject();
+    }
+
+    public static void writeCity(JsonGenerator generator, String fieldName, CityDTO city) throws IOException {
+        if (city == null) {
+            return;
+        }
+        generator.writeObjectFieldStart(fieldName);
+        generator.writeNumberField("id", city.getId());
+        generator.writeStringField("cityName", city.getCityName());
+        generator.writeStringField("country", city.getCountry());
+        generator.writeEndObject();
+    }
+
+    private static void writeDateTime(JsonGenerator generator, String fieldName, LocalDateTime value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(fieldName, value.toString());
+        }
+    }
+}
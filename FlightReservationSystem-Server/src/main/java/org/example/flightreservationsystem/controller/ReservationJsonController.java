@@ -0,0 +1,137 @@
+package org.example.flightreservationsystem.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.flightreservationsystem.cluster.ClusterForwarder;
+import org.example.flightreservationsystem.cluster.ClusterMember;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.ReservationDTO;
+import org.example.flightreservationsystem.pricing.PricingEngine;
+import org.example.flightreservationsystem.service.ReservationService;
+import org.example.flightreservationsystem.wsdl.CreateReservationRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/json/reservations")
+public class ReservationJsonController {
+
+    private final ReservationService reservationService;
+    private final PricingEngine pricingEngine;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ClusterForwarder> clusterForwarder;
+
+    public ReservationJsonController(ReservationService reservationService, PricingEngine pricingEngine,
+                                     ObjectMapper objectMapper, ObjectProvider<ClusterForwarder> clusterForwarder) {
+        this.reservationService = reservationService;
+        this.pricingEngine = pricingEngine;
+        this.objectMapper = objectMapper;
+        this.clusterForwarder = clusterForwarder;
+    }
+
+    @PostMapping
+    public ResponseEntity<StreamingResponseBody> createReservation(
+            @RequestBody CreateReservationRequest request, HttpServletRequest httpRequest) throws IOException {
+        ClusterForwarder forwarder = clusterForwarder.getIfAvailable();
+        ClusterMember owner = forwarder == null || forwarder.isForwardedByMember(httpRequest, null)
+                ? null : forwarder.remoteOwnerOfFlight(request.getFlightId());
+        if (owner != null) {
+            return relay(forwarder.forward(owner, "POST", "/json/reservations", null, objectMapper.writeValueAsBytes(request),
+                    Map.of(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        }
+
+        FlightDTO flight = new FlightDTO();
+        flight.setId(request.getFlightId());
+
+        ReservationDTO reservation = new ReservationDTO();
+        reservation.setPassengerFirstname(request.getPassengerFirstname());
+        reservation.setPassengerLastname(request.getPassengerLastname());
+        reservation.setPassengerEmail(request.getPassengerEmail());
+        reservation.setSeatsReserved(request.getSeatsReserved());
+        if (!request.getSeatNumbers().isEmpty()) {
+            reservation.setSeatNumbers(String.join(",", request.getSeatNumbers()));
+        }
+        reservation.setFlight(flight);
+
+        return writeReservation(HttpStatus.CREATED, reservationService.createReservation(reservation));
+    }
+
+    @GetMapping("/{reservationCode}")
+    public ResponseEntity<StreamingResponseBody> getReservationByCode(@PathVariable String reservationCode) {
+        ReservationDTO reservation = reservationService.getReservationByCode(reservationCode);
+        if (reservation == null) {
+            throw new RuntimeException("Reservation not found with code: " + reservationCode);
+        }
+        return writeReservation(HttpStatus.OK, reservation);
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getReservationsByEmail(
+            @RequestParam String email,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Page<ReservationDTO> reservations = reservationService.getReservationsByEmail(email, page, size);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(out -> {
+            try (JsonGenerator generator = JsonWriter.open(objectMapper, out)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("reservations");
+                for (ReservationDTO reservation : reservations) {
+                    JsonWriter.writeReservation(generator, reservation, pricingEngine::getFare);
+                }
+                generator.writeEndArray();
+                generator.writeNumberField("page", reservations.getNumber());
+                generator.writeNumberField("size", reservations.getSize());
+                generator.writeNumberField("totalElements", reservations.getTotalElements());
+                generator.writeNumberField("totalPages", reservations.getTotalPages());
+                generator.writeEndObject();
+            }
+        });
+    }
+
+    @DeleteMapping("/{reservationCode}")
+    public ResponseEntity<StreamingResponseBody> cancelReservation(
+            @PathVariable String reservationCode, HttpServletRequest httpRequest) {
+        ClusterForwarder forwarder = clusterForwarder.getIfAvailable();
+        ClusterMember owner = forwarder == null || forwarder.isForwardedByMember(httpRequest, null)
+                ? null : forwarder.remoteOwnerOfReservation(reservationCode);
+        if (owner != null) {
+            return relay(forwarder.forward(owner, "DELETE", "/json/reservations/" + reservationCode, null, null, Map.of()));
+        }
+
+        reservationService.cancelReservation(reservationCode);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<StreamingResponseBody> relay(HttpResponse<byte[]> response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.statusCode());
+        response.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(type -> builder.contentType(MediaType.parseMediaType(type)));
+        byte[] body = response.body();
+        return body.length == 0 ? builder.build() : builder.body(out -> out.write(body));
+    }
+
+    private ResponseEntity<StreamingResponseBody> writeReservation(HttpStatus status, ReservationDTO reservation) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(out -> {
+            try (JsonGenerator generator = JsonWriter.open(objectMapper, out)) {
+                JsonWriter.writeReservation(generator, reservation, pricingEngine::getFare);
+            }
+        });
+    }
+}
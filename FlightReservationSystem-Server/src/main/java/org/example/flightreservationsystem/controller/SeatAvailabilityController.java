@@ -0,0 +1,42 @@
+package org.example.flightreservationsystem.controller;
+
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.event.SeatAvailabilityPublisher;
+import org.example.flightreservationsystem.service.FlightService;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/events/flights")
+public class SeatAvailabilityController {
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(30);
+
+    private final SeatAvailabilityPublisher seatAvailabilityPublisher;
+    private final FlightService flightService;
+
+    public SeatAvailabilityController(SeatAvailabilityPublisher seatAvailabilityPublisher, FlightService flightService) {
+        this.seatAvailabilityPublisher = seatAvailabilityPublisher;
+        this.flightService = flightService;
+    }
+
+    @GetMapping(path = "/{flightId}/seats", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<SeatAvailabilityChangedEvent>> streamSeatAvailability(@PathVariable Integer flightId) {
+        Flux<ServerSentEvent<SeatAvailabilityChangedEvent>> events = seatAvailabilityPublisher.subscribe(flightId,
+                        () -> new SeatAvailabilityChangedEvent(flightId, flightService.getFlightById(flightId).getAvailableSeats(), 0))
+                .map(update -> ServerSentEvent.builder(update)
+                        .event("seats")
+                        .build());
+
+        Flux<ServerSentEvent<SeatAvailabilityChangedEvent>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<SeatAvailabilityChangedEvent>builder().comment("keep-alive").build());
+
+        return Flux.merge(events, heartbeats);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.flightreservationsystem.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Component
+@ConditionalOnProperty(name = "datasource.pool.auto-size.enabled", havingValue = "true")
+public class ConnectionPoolAutoSizer {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolAutoSizer.class);
+
+    private final DataSource dataSource;
+    private final ConnectionPoolMetrics metrics;
+    private final int minSize;
+    private final int maxSize;
+    private final double targetWaitMillis;
+    private final double shrinkUtilization;
+    private final int shrinkAfterIntervals;
+
+    private long lastSampleNanos = System.nanoTime();
+    private int idleIntervals;
+
+    public ConnectionPoolAutoSizer(DataSource dataSource,
+                                   ConnectionPoolMetrics metrics,
+                                   @Value("${datasource.pool.auto-size.min-size:5}") int minSize,
+                                   @Value("${datasource.pool.auto-size.max-size:40}") int maxSize,
+                                   @Value("${datasource.pool.auto-size.target-wait-ms:5}") double targetWaitMillis,
+                                   @Value("${datasource.pool.auto-size.shrink-utilization:0.3}") double shrinkUtilization,
+                                   @Value("${datasource.pool.auto-size.shrink-after-intervals:6}") int shrinkAfterIntervals) {
+        if (minSize <= 0 || maxSize < minSize) {
+            throw new IllegalArgumentException("Pool auto-size bounds must satisfy 0 < min-size <= max-size");
+        }
+        this.dataSource = dataSource;
+        this.metrics = metrics;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetWaitMillis = targetWaitMillis;
+        this.shrinkUtilization = shrinkUtilization;
+        this.shrinkAfterIntervals = shrinkAfterIntervals;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.pool.auto-size.interval-ms:10000}")
+    public void resize() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        HikariConfigMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariConfigMXBean();
+
+        long now = System.nanoTime();
+        double intervalMillis = Math.max(1, (now - lastSampleNanos) / 1_000_000.0);
+        lastSampleNanos = now;
+
+        ConnectionPoolMetrics.Interval interval = metrics.drain();
+        int currentSize = pool.getMaximumPoolSize();
+        double averageWait = interval.averageWaitMillis();
+        double utilization = interval.usageMillis() / intervalMillis / currentSize;
+
+        int newSize = currentSize;
+        if (averageWait > targetWaitMillis || interval.timeouts() > 0 || interval.pendingThreads() > 0) {
+            idleIntervals = 0;
+            newSize = Math.min(maxSize, currentSize + Math.max(1, currentSize / 4));
+        } else if (utilization < shrinkUtilization && ++idleIntervals >= shrinkAfterIntervals) {
+            idleIntervals = 0;
+            newSize = Math.max(minSize, currentSize - 1);
+        } else if (utilization >= shrinkUtilization) {
+            idleIntervals = 0;
+        }
+
+        if (newSize != currentSize) {
+            if (newSize < currentSize && pool.getMinimumIdle() > newSize) {
+                pool.setMinimumIdle(newSize);
+            }
+            pool.setMaximumPoolSize(newSize);
+            logger.info("Connection pool resized {} -> {} (avg wait {} ms, utilization {}%, timeouts {}, waiting threads {})",
+                    currentSize, newSize, String.format("%.2f", averageWait), Math.round(utilization * 100),
+                    interval.timeouts(), interval.pendingThreads());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.flightreservationsystem.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.IMetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPoolMetrics implements IMetricsTrackerFactory {
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public Interval drain() {
+        PoolStats stats = poolStats;
+        return new Interval(
+                acquisitions.sumThenReset(),
+                acquireNanos.sumThenReset(),
+                usageMillis.sumThenReset(),
+                timeouts.sumThenReset(),
+                stats == null ? 0 : stats.getActiveConnections(),
+                stats == null ? 0 : stats.getPendingThreads());
+    }
+
+    public record Interval(long acquisitions, long acquireNanos, long usageMillis, long timeouts,
+                           int activeConnections, int pendingThreads) {
+
+        public double averageWaitMillis() {
+            return acquisitions == 0 ? 0 : acquireNanos / (double) acquisitions / 1_000_000;
+        }
+    }
+}
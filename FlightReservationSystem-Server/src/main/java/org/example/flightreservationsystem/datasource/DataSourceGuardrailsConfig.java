@@ -0,0 +1,21 @@
+package org.example.flightreservationsystem.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceGuardrailsConfig {
+
+    @Bean
+    public static ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
+    }
+
+    @Bean
+    public static DataSourceGuardrailsPostProcessor dataSourceGuardrailsPostProcessor(
+            ConnectionPoolMetrics connectionPoolMetrics,
+            @Value("${datasource.slow-query-threshold-ms:200}") long slowQueryThresholdMillis) {
+        return new DataSourceGuardrailsPostProcessor(connectionPoolMetrics, slowQueryThresholdMillis);
+    }
+}
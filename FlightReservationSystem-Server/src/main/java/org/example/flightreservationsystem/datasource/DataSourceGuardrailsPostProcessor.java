@@ -0,0 +1,29 @@
+package org.example.flightreservationsystem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+public class DataSourceGuardrailsPostProcessor implements BeanPostProcessor {
+    private final ConnectionPoolMetrics metrics;
+    private final long slowQueryThresholdMillis;
+
+    public DataSourceGuardrailsPostProcessor(ConnectionPoolMetrics metrics, long slowQueryThresholdMillis) {
+        this.metrics = metrics;
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+                && dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+            dataSource.setMetricsTrackerFactory(metrics);
+        }
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean && slowQueryThresholdMillis >= 0) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new SlowQueryInterceptor(
+                            repositoryInformation.getRepositoryInterface(), slowQueryThresholdMillis))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.flightreservationsystem.datasource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Logs repository calls that take longer than the threshold. Arguments are described by type and
+ * size only, since they carry passenger data such as emails and names.
+ */
+public class SlowQueryInterceptor implements MethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryInterceptor.class);
+
+    private final Class<?> repositoryInterface;
+    private final long thresholdNanos;
+
+    public SlowQueryInterceptor(Class<?> repositoryInterface, long thresholdMillis) {
+        this.repositoryInterface = repositoryInterface;
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= thresholdNanos) {
+                logger.warn("Slow query {}.{}({}) took {} ms",
+                        repositoryInterface.getSimpleName(), invocation.getMethod().getName(),
+                        describeArguments(invocation), elapsed / 1_000_000);
+            }
+        }
+    }
+
+    private String describeArguments(MethodInvocation invocation) {
+        Parameter[] parameters = invocation.getMethod().getParameters();
+        Object[] arguments = invocation.getArguments();
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            if (i < parameters.length && parameters[i].isNamePresent()) {
+                description.append(parameters[i].getName()).append('=');
+            }
+            description.append(describe(arguments[i]));
+        }
+        return description.toString();
+    }
+
+    private String describe(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        String type = argument.getClass().getSimpleName();
+        if (argument instanceof Collection<?> collection) {
+            return type + "[" + collection.size() + "]";
+        }
+        if (argument instanceof Map<?, ?> map) {
+            return type + "[" + map.size() + "]";
+        }
+        if (argument.getClass().isArray()) {
+            return argument.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(argument) + "]";
+        }
+        return type;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.flightreservationsystem.endpoint;
+
+import org.example.flightreservationsystem.model.AnalyticsReport;
+import org.example.flightreservationsystem.model.AnalyticsReportRow;
+import org.example.flightreservationsystem.service.AnalyticsService;
+import org.example.flightreservationsystem.wsdl.*;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+
+@Endpoint
+public class AnalyticsEndpoint {
+    private static final String NAMESPACE_URI = "http://example.org/flightreservationsystem";
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsEndpoint(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAnalyticsReportRequest")
+    @ResponsePayload
+    public GetAnalyticsReportResponse getAnalyticsReport(@RequestPayload GetAnalyticsReportRequest request) {
+        AnalyticsReport.Grouping grouping;
+        try {
+            grouping = AnalyticsReport.Grouping.valueOf(request.getGroupBy().trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("groupBy must be one of ROUTE, DAY, FLIGHT");
+        }
+
+        AnalyticsReport report = analyticsService.getReport(grouping, toLocalDate(request.getFromDate()),
+                toLocalDate(request.getToDate()), request.getDepartureCityId(), request.getArrivalCityId());
+
+        GetAnalyticsReportResponse response = new GetAnalyticsReportResponse();
+        try {
+            DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+            response.setSnapshotTakenAt(datatypeFactory.newXMLGregorianCalendar(
+                    GregorianCalendar.from(report.getSnapshotTakenAt().atZone(ZoneId.systemDefault()))));
+            for (int days : report.getBookingCurveDays()) {
+                response.getBookingCurveDays().add(days);
+            }
+            for (AnalyticsReportRow row : report.getRows()) {
+                response.getRows().add(convertToWsdlRow(row, datatypeFactory));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error building analytics report: " + e.getMessage(), e);
+        }
+        return response;
+    }
+
+    private AnalyticsRow convertToWsdlRow(AnalyticsReportRow row, DatatypeFactory datatypeFactory) {
+        AnalyticsRow wsdlRow = new AnalyticsRow();
+        wsdlRow.setDepartureCityId(row.getDepartureCityId());
+        wsdlRow.setArrivalCityId(row.getArrivalCityId());
+        if (row.getDay() != null) {
+            wsdlRow.setDate(datatypeFactory.newXMLGregorianCalendar(row.getDay().toString()));
+        }
+        wsdlRow.setFlightId(row.getFlightId());
+        wsdlRow.setFlightCode(row.getFlightCode());
+        wsdlRow.setFlights(row.getFlights());
+        wsdlRow.setSeatCapacity(row.getSeatCapacity());
+        wsdlRow.setSeatsSold(row.getSeatsSold());
+        wsdlRow.setLoadFactor(row.getLoadFactor());
+        wsdlRow.setRevenue(row.getRevenue());
+        for (long seats : row.getSeatsSoldByDaysOut()) {
+            wsdlRow.getSeatsSoldByDaysOut().add(seats);
+        }
+        return wsdlRow;
+    }
+
+    private LocalDate toLocalDate(XMLGregorianCalendar date) {
+        if (date == null) {
+            return null;
+        }
+        return LocalDate.of(date.getYear(), date.getMonth(), date.getDay());
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.flightreservationsystem.endpoint;
+
+import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.CitySnapshot;
+import org.example.flightreservationsystem.service.CityService;
+import org.example.flightreservationsystem.wsdl.*;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+@Endpoint
+public class CityEndpoint {
+    private static final String NAMESPACE_URI = "http://example.org/flightreservationsystem";
+
+    private final CityService cityService;
+
+    public CityEndpoint(CityService cityService) {
+        this.cityService = cityService;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getAllCitiesRequest")
+    @ResponsePayload
+    public GetAllCitiesResponse getAllCities(@RequestPayload GetAllCitiesRequest request) {
+        GetAllCitiesResponse response = new GetAllCitiesResponse();
+        CitySnapshot snapshot = cityService.getCitySnapshot();
+
+        response.setVersion(snapshot.getVersion());
+        if (snapshot.getVersion().equals(request.getVersion())) {
+            response.setNotModified(true);
+            return response;
+        }
+
+        response.setNotModified(false);
+        snapshot.getCities().forEach(city -> response.getCities().add(convertToWsdlCity(city)));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "searchCitiesRequest")
+    @ResponsePayload
+    public SearchCitiesResponse searchCities(@RequestPayload SearchCitiesRequest request) {
+        SearchCitiesResponse response = new SearchCitiesResponse();
+        try {
+            int limit = request.getLimit() != null ? request.getLimit() : 0;
+            cityService.findCitiesByPrefix(request.getPrefix(), limit)
+                    .forEach(city -> response.getCities().add(convertToWsdlCity(city)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error searching cities: " + e.getMessage(), e);
+        }
+        return response;
+    }
+
+    private City convertToWsdlCity(CityDTO city) {
+        City wsdlCity = new City();
+        wsdlCity.setId(city.getId());
+        wsdlCity.setCityName(city.getCityName());
+        wsdlCity.setCountry(city.getCountry());
+        return wsdlCity;
+    }
+}
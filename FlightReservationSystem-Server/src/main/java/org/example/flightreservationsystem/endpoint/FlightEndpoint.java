@@ -1,8 +1,14 @@
 package org.example.flightreservationsystem.endpoint;
 
 import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.DayFareSummary;
 import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.RouteDaySummary;
+import org.example.flightreservationsystem.pricing.PricingEngine;
 import org.example.flightreservationsystem.service.FlightService;
+import org.example.flightreservationsystem.seatmap.SeatMap;
+import org.example.flightreservationsystem.service.RouteSummaryService;
+import org.example.flightreservationsystem.service.SeatMapService;
 import org.example.flightreservationsystem.wsdl.*;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
@@ -10,6 +16,8 @@ import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 
 import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.GregorianCalendar;
@@ -20,9 +28,16 @@ public class FlightEndpoint {
     private static final String NAMESPACE_URI = "http://example.org/flightreservationsystem";
 
     private final FlightService flightService;
+    private final RouteSummaryService routeSummaryService;
+    private final PricingEngine pricingEngine;
+    private final SeatMapService seatMapService;
 
-    public FlightEndpoint(FlightService flightService) {
+    public FlightEndpoint(FlightService flightService, RouteSummaryService routeSummaryService,
+                          PricingEngine pricingEngine, SeatMapService seatMapService) {
         this.flightService = flightService;
+        this.routeSummaryService = routeSummaryService;
+        this.pricingEngine = pricingEngine;
+        this.seatMapService = seatMapService;
     }
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getFlightRequest")
@@ -81,6 +96,84 @@ public class FlightEndpoint {
         return response;
     }
 
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getRouteSummaryRequest")
+    @ResponsePayload
+    public GetRouteSummaryResponse getRouteSummary(@RequestPayload GetRouteSummaryRequest request) {
+        GetRouteSummaryResponse response = new GetRouteSummaryResponse();
+        try {
+            List<RouteDaySummary> routes = routeSummaryService.getAvailableRoutes(
+                    request.getDepartureCityId(), request.getDays());
+            routes.forEach(route -> response.getRoutes().add(convertToWsdlRouteSummary(route)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error getting route summary: " + e.getMessage(), e);
+        }
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getFareCalendarRequest")
+    @ResponsePayload
+    public GetFareCalendarResponse getFareCalendar(@RequestPayload GetFareCalendarRequest request) {
+        List<DayFareSummary> days = routeSummaryService.getFareCalendar(request.getDepartureCityId(),
+                request.getArrivalCityId(), toLocalDate(request.getFromDate()), toLocalDate(request.getToDate()),
+                request.getSeats() == null ? 1 : request.getSeats());
+
+        GetFareCalendarResponse response = new GetFareCalendarResponse();
+        try {
+            DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+            for (DayFareSummary day : days) {
+                FareCalendarDay wsdlDay = new FareCalendarDay();
+                wsdlDay.setDate(datatypeFactory.newXMLGregorianCalendar(day.getDay().toString()));
+                wsdlDay.setFlightCount(day.getFlightCount());
+                wsdlDay.setAvailableSeats(day.getAvailableSeats());
+                wsdlDay.setLowestFare(day.getLowestFare());
+                response.getDays().add(wsdlDay);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Error building fare calendar: " + e.getMessage(), e);
+        }
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getSeatMapRequest")
+    @ResponsePayload
+    public GetSeatMapResponse getSeatMap(@RequestPayload GetSeatMapRequest request) {
+        GetSeatMapResponse response = new GetSeatMapResponse();
+        try {
+            SeatMap seatMap = seatMapService.getSeatMap(request.getFlightId());
+            StringBuilder occupancy = new StringBuilder(seatMap.getCapacity());
+            for (int seat = 0; seat < seatMap.getCapacity(); seat++) {
+                occupancy.append(seatMap.isOccupied(seat) ? '1' : '0');
+            }
+            response.setFlightId(request.getFlightId());
+            response.setCapacity(seatMap.getCapacity());
+            response.setSeatsPerRow(seatMap.getSeatsPerRow());
+            response.setRows(seatMap.getRows());
+            response.setFreeSeats(seatMap.getFreeSeats());
+            response.setSeatLetters(seatMap.getSeatLetters());
+            response.setOccupancy(occupancy.toString());
+        } catch (Exception e) {
+            throw new RuntimeException("Error getting seat map: " + e.getMessage(), e);
+        }
+        return response;
+    }
+
+    private RouteSummary convertToWsdlRouteSummary(RouteDaySummary route) {
+        RouteSummary wsdlRoute = new RouteSummary();
+        wsdlRoute.setDepartureCityId(route.getDepartureCityId());
+        wsdlRoute.setArrivalCity(convertToWsdlCity(route.getArrivalCity()));
+
+        try {
+            wsdlRoute.setDate(DatatypeFactory.newInstance().newXMLGregorianCalendar(route.getDay().toString()));
+        } catch (Exception e) {
+            throw new RuntimeException("Error converting date for route summary", e);
+        }
+
+        wsdlRoute.setFlightCount(route.getFlightCount());
+        wsdlRoute.setAvailableSeats(route.getAvailableSeats());
+        wsdlRoute.setMinPrice(route.getMinPrice());
+        return wsdlRoute;
+    }
+
     private Flight convertToWsdlFlight(FlightDTO flight) {
         Flight wsdlFlight = new Flight();
         wsdlFlight.setId(flight.getId());
@@ -105,6 +198,7 @@ public class FlightEndpoint {
         wsdlFlight.setTotalSeats(flight.getTotalSeats());
         wsdlFlight.setAvailableSeats(flight.getAvailableSeats());
         wsdlFlight.setBasePrice(flight.getBasePrice());
+        wsdlFlight.setCurrentPrice(pricingEngine.getFare(flight));
 
         return wsdlFlight;
     }
@@ -118,4 +212,11 @@ public class FlightEndpoint {
         wsdlCity.setCountry(city.getCountry());
         return wsdlCity;
     }
-}
\ No newline at end of file
+
+    private LocalDate toLocalDate(XMLGregorianCalendar date) {
+        if (date == null) {
+            return null;
+        }
+        return LocalDate.of(date.getYear(), date.getMonth(), date.getDay());
+    }
+}
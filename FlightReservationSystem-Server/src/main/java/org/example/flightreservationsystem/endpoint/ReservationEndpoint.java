@@ -3,37 +3,61 @@ package org.example.flightreservationsystem.endpoint;
 import com.sun.istack.ByteArrayDataSource;
 import jakarta.activation.DataHandler;
 import jakarta.activation.DataSource;
+import jakarta.xml.soap.AttachmentPart;
 import jakarta.xml.ws.soap.MTOM;
+import org.example.flightreservationsystem.manifest.ManifestExport;
+import org.example.flightreservationsystem.manifest.ManifestFormat;
+import org.example.flightreservationsystem.model.CancellationJob;
 import org.example.flightreservationsystem.model.CityDTO;
 import org.example.flightreservationsystem.model.FlightDTO;
 import org.example.flightreservationsystem.model.ReservationDTO;
-import org.example.flightreservationsystem.service.FlightService;
+import org.example.flightreservationsystem.model.WaitlistEntryDTO;
+import org.example.flightreservationsystem.model.WaitlistPosition;
+import org.example.flightreservationsystem.service.CancellationService;
+import org.example.flightreservationsystem.service.ManifestService;
 import org.example.flightreservationsystem.service.PdfGenerationService;
 import org.example.flightreservationsystem.service.ReservationService;
+import org.example.flightreservationsystem.service.WaitlistService;
 import org.example.flightreservationsystem.wsdl.*;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.mime.MimeMessage;
 import org.springframework.ws.server.endpoint.annotation.Endpoint;
 import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
 import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
 
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
 
 @Endpoint
 public class ReservationEndpoint {
     private static final String NAMESPACE_URI = "http://example.org/flightreservationsystem";
+    private static final int DEFAULT_PAGE_SIZE = 20;
 
     private final ReservationService reservationService;
-    private final FlightService flightService;
     private final PdfGenerationService pdfGenerationService;
+    private final CancellationService cancellationService;
+    private final WaitlistService waitlistService;
+    private final ManifestService manifestService;
 
-    public ReservationEndpoint(ReservationService reservationService, FlightService flightService, PdfGenerationService pdfGenerationService) {
+    public ReservationEndpoint(ReservationService reservationService,
+                               @Lazy PdfGenerationService pdfGenerationService, CancellationService cancellationService,
+                               WaitlistService waitlistService, ManifestService manifestService) {
         this.reservationService = reservationService;
-        this.flightService = flightService;
         this.pdfGenerationService = pdfGenerationService;
+        this.cancellationService = cancellationService;
+        this.waitlistService = waitlistService;
+        this.manifestService = manifestService;
     }
 
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "createReservationRequest")
@@ -41,16 +65,17 @@ public class ReservationEndpoint {
     public CreateReservationResponse createReservation(@RequestPayload CreateReservationRequest request) {
         CreateReservationResponse response = new CreateReservationResponse();
 
-        FlightDTO flight = flightService.getFlightById(request.getFlightId());
-        if (flight == null) {
-            throw new RuntimeException("Flight not found with id: " + request.getFlightId());
-        }
+        FlightDTO flight = new FlightDTO();
+        flight.setId(request.getFlightId());
 
         ReservationDTO reservation = new ReservationDTO();
         reservation.setPassengerFirstname(request.getPassengerFirstname());
         reservation.setPassengerLastname(request.getPassengerLastname());
         reservation.setPassengerEmail(request.getPassengerEmail());
         reservation.setSeatsReserved(request.getSeatsReserved());
+        if (!request.getSeatNumbers().isEmpty()) {
+            reservation.setSeatNumbers(String.join(",", request.getSeatNumbers()));
+        }
         reservation.setFlight(flight);
 
         ReservationDTO createdReservation = reservationService.createReservation(reservation);
@@ -79,6 +104,28 @@ public class ReservationEndpoint {
         return response;
     }
 
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getReservationsByEmailRequest")
+    @ResponsePayload
+    public GetReservationsByEmailResponse getReservationsByEmail(@RequestPayload GetReservationsByEmailRequest request) {
+        GetReservationsByEmailResponse response = new GetReservationsByEmailResponse();
+        try {
+            int page = request.getPage() != null ? request.getPage() : 0;
+            int size = request.getSize() != null ? request.getSize() : DEFAULT_PAGE_SIZE;
+
+            Page<ReservationDTO> reservations = reservationService.getReservationsByEmail(
+                    request.getPassengerEmail(), page, size);
+            reservations.forEach(reservation -> response.getReservations().add(mapReservation(reservation)));
+
+            response.setPage(reservations.getNumber());
+            response.setSize(reservations.getSize());
+            response.setTotalElements(reservations.getTotalElements());
+            response.setTotalPages(reservations.getTotalPages());
+        } catch (Exception e) {
+            throw new RuntimeException("Error getting reservations: " + e.getMessage(), e);
+        }
+        return response;
+    }
+
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "cancelReservationRequest")
     @ResponsePayload
     public CancelReservationResponse cancelReservation(@RequestPayload CancelReservationRequest request) {
@@ -96,6 +143,46 @@ public class ReservationEndpoint {
         return response;
     }
 
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "cancelFlightReservationsRequest")
+    @ResponsePayload
+    public CancelFlightReservationsResponse cancelFlightReservations(@RequestPayload CancelFlightReservationsRequest request) {
+        CancelFlightReservationsResponse response = new CancelFlightReservationsResponse();
+        response.setJob(mapCancellationJob(cancellationService.cancelFlightReservations(request.getFlightId())));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getCancellationStatusRequest")
+    @ResponsePayload
+    public GetCancellationStatusResponse getCancellationStatus(@RequestPayload GetCancellationStatusRequest request) {
+        GetCancellationStatusResponse response = new GetCancellationStatusResponse();
+        response.setJob(mapCancellationJob(cancellationService.getJob(request.getJobId())));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "joinWaitlistRequest")
+    @ResponsePayload
+    public JoinWaitlistResponse joinWaitlist(@RequestPayload JoinWaitlistRequest request) {
+        WaitlistEntryDTO entry = new WaitlistEntryDTO();
+        entry.setFlightId(request.getFlightId());
+        entry.setPassengerFirstname(request.getPassengerFirstname());
+        entry.setPassengerLastname(request.getPassengerLastname());
+        entry.setPassengerEmail(request.getPassengerEmail());
+        entry.setSeatsRequested(request.getSeatsRequested());
+        entry.setPriority(request.getPriority());
+
+        JoinWaitlistResponse response = new JoinWaitlistResponse();
+        response.setWaitlist(mapWaitlistPosition(waitlistService.joinWaitlist(entry)));
+        return response;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getWaitlistPositionRequest")
+    @ResponsePayload
+    public GetWaitlistPositionResponse getWaitlistPosition(@RequestPayload GetWaitlistPositionRequest request) {
+        GetWaitlistPositionResponse response = new GetWaitlistPositionResponse();
+        response.setWaitlist(mapWaitlistPosition(waitlistService.getPosition(request.getWaitlistId())));
+        return response;
+    }
+
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getReservationPdfRequest")
     @ResponsePayload
     @MTOM(enabled = true, threshold = 1024)
@@ -124,16 +211,99 @@ public class ReservationEndpoint {
         return response;
     }
 
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getFlightManifestRequest")
+    @ResponsePayload
+    public GetFlightManifestResponse getFlightManifest(@RequestPayload GetFlightManifestRequest request,
+                                                       MessageContext messageContext) {
+        GetFlightManifestResponse response = new GetFlightManifestResponse();
+
+        ManifestFormat format;
+        try {
+            format = request.getFormat() == null ? ManifestFormat.CSV
+                    : ManifestFormat.valueOf(request.getFormat().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.setSuccess(false);
+            response.setMessage("Format must be one of CSV, PDF");
+            return response;
+        }
+
+        ManifestExport export = null;
+        try {
+            export = manifestService.exportManifest(request.getFlightId(), format);
+
+            String contentId = "manifest-" + UUID.randomUUID() + "@flightreservationsystem";
+            addStreamingAttachment(messageContext.getResponse(), contentId, new DataHandler(export));
+
+            response.setAttachmentId(contentId);
+            response.setFileName(export.getName());
+            response.setContentType(export.getContentType());
+            response.setReservations(export.getReservationCount());
+            response.setSeats(export.getSeatCount());
+            response.setSuccess(true);
+        } catch (Exception e) {
+            if (export != null) {
+                export.release();
+            }
+            response.setSuccess(false);
+            response.setMessage("Error exporting manifest: " + e.getMessage());
+        }
+
+        return response;
+    }
+
+    private void addStreamingAttachment(WebServiceMessage message, String contentId, DataHandler dataHandler) {
+        if (message instanceof SaajSoapMessage saajMessage) {
+            AttachmentPart part = saajMessage.getSaajMessage().createAttachmentPart(dataHandler);
+            part.setContentId("<" + contentId + ">");
+            part.setMimeHeader("Content-Transfer-Encoding", "binary");
+            saajMessage.getSaajMessage().addAttachmentPart(part);
+        } else if (message instanceof MimeMessage mimeMessage) {
+            mimeMessage.addAttachment("<" + contentId + ">", dataHandler);
+        } else {
+            throw new IllegalStateException("Response message cannot carry attachments");
+        }
+    }
+
+    private CancellationJobStatus mapCancellationJob(CancellationJob job) {
+        CancellationJobStatus soapJob = new CancellationJobStatus();
+        soapJob.setJobId(job.getJobId());
+        soapJob.setFlightId(job.getFlightId());
+        soapJob.setStatus(job.getStatus().name());
+        soapJob.setTotalReservations(job.getTotalReservations());
+        soapJob.setCancelledReservations(job.getCancelledReservations());
+        soapJob.setSeatsReleased(job.getSeatsReleased());
+        soapJob.setRefundedAmount(job.getRefundedAmount());
+        soapJob.setMessage(job.getMessage());
+        return soapJob;
+    }
+
+    private WaitlistStatus mapWaitlistPosition(WaitlistPosition position) {
+        WaitlistEntryDTO entry = position.getEntry();
+        WaitlistStatus soapWaitlist = new WaitlistStatus();
+        soapWaitlist.setWaitlistId(entry.getId());
+        soapWaitlist.setFlightId(entry.getFlightId());
+        soapWaitlist.setSeatsRequested(entry.getSeatsRequested());
+        soapWaitlist.setPriority(entry.getPriority());
+        soapWaitlist.setStatus(entry.getStatus().name());
+        soapWaitlist.setPosition(position.getPosition());
+        soapWaitlist.setSeatsAhead(position.getSeatsAhead());
+        soapWaitlist.setReservationCode(entry.getReservationCode());
+        return soapWaitlist;
+    }
+
     private Reservation mapReservation(ReservationDTO reservation) {
         Reservation soapReservation = new Reservation();
 
-        soapReservation.setId(reservation.getId());
+        soapReservation.setId(reservation.getId() != null ? reservation.getId() : 0);
         soapReservation.setReservationCode(reservation.getReservationCode());
         soapReservation.setPassengerFirstname(reservation.getPassengerFirstname());
         soapReservation.setPassengerLastname(reservation.getPassengerLastname());
         soapReservation.setPassengerEmail(reservation.getPassengerEmail());
         soapReservation.setSeatsReserved(reservation.getSeatsReserved());
         soapReservation.setTotalPrice(reservation.getTotalPrice());
+        if (reservation.getSeatNumbers() != null && !reservation.getSeatNumbers().isBlank()) {
+            soapReservation.getSeatNumbers().addAll(List.of(reservation.getSeatNumbers().split(",")));
+        }
 
         try {
             if (reservation.getReservationDate() != null) {
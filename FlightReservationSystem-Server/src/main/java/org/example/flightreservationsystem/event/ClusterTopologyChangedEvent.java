@@ -0,0 +1,16 @@
+package org.example.flightreservationsystem.event;
+
+import java.util.List;
+
+public class ClusterTopologyChangedEvent {
+    private final List<String> memberIds;
+
+    public ClusterTopologyChangedEvent(List<String> memberIds) {
+        this.memberIds = memberIds;
+    }
+
+    public List<String> getMemberIds() {
+        return memberIds;
+    }
+
+}
@@ -0,0 +1,20 @@
+package org.example.flightreservationsystem.event;
+
+public class ReservationChangedEvent {
+    private final String reservationCode;
+    private final String passengerEmail;
+
+    public ReservationChangedEvent(String reservationCode, String passengerEmail) {
+        this.reservationCode = reservationCode;
+        this.passengerEmail = passengerEmail;
+    }
+
+    public String getReservationCode() {
+        return reservationCode;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.example.flightreservationsystem.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A committed change of a flight's seats; {@code availableSeats} is the count right after it.
+ * Events are numbered when they are created, which happens while the change still holds the
+ * flight's row lock (or its counter in the seat ledger), so of two events for one flight the higher
+ * sequence carries the later count even when after-commit listeners receive them the other way round.
+ */
+public class SeatAvailabilityChangedEvent {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long sequence = SEQUENCE.incrementAndGet();
+    private final Integer flightId;
+    private final Integer availableSeats;
+    private final Integer delta;
+
+    public SeatAvailabilityChangedEvent(Integer flightId, Integer availableSeats, Integer delta) {
+        this.flightId = flightId;
+        this.availableSeats = availableSeats;
+        this.delta = delta;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Integer getFlightId() {
+        return flightId;
+    }
+
+    public Integer getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.example.flightreservationsystem.event;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Fans committed seat changes out to the subscribers of each flight. Changes of one flight are
+ * emitted under that flight's lock, so listeners running on different request threads never emit
+ * concurrently, and every change carries a per-flight sequence number.
+ */
+@Component
+public class SeatAvailabilityPublisher {
+
+    private final Map<Integer, FlightChannel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Streams the value read by {@code snapshot} followed by every later change of the flight. The
+     * subscriber is registered before the snapshot is read; changes published before the read
+     * started are already part of the snapshot and are dropped.
+     */
+    public Flux<SeatAvailabilityChangedEvent> subscribe(Integer flightId, Supplier<SeatAvailabilityChangedEvent> snapshot) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber();
+            FlightChannel channel = channels.compute(flightId, (id, current) -> {
+                FlightChannel registered = current == null ? new FlightChannel() : current;
+                registered.subscribers.add(subscriber);
+                return registered;
+            });
+
+            long snapshotSequence = channel.sequence();
+            SeatAvailabilityChangedEvent current;
+            try {
+                current = snapshot.get();
+            } catch (RuntimeException e) {
+                unregister(flightId, subscriber);
+                throw e;
+            }
+
+            Flux<SeatAvailabilityChangedEvent> updates = subscriber.updates.asFlux()
+                    .filter(update -> update.sequence() > snapshotSequence)
+                    .map(SequencedUpdate::event);
+            return Flux.concat(Flux.just(current), updates)
+                    .onBackpressureLatest()
+                    .doFinally(signal -> unregister(flightId, subscriber));
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        FlightChannel channel = channels.get(event.getFlightId());
+        if (channel != null) {
+            channel.emit(event);
+        }
+    }
+
+    private void unregister(Integer flightId, Subscriber subscriber) {
+        channels.computeIfPresent(flightId, (id, current) -> {
+            current.subscribers.remove(subscriber);
+            return current.subscribers.isEmpty() ? null : current;
+        });
+    }
+
+    private static final class FlightChannel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long sequence;
+
+        private synchronized long sequence() {
+            return sequence;
+        }
+
+        private synchronized void emit(SeatAvailabilityChangedEvent event) {
+            SequencedUpdate update = new SequencedUpdate(++sequence, event);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.updates.tryEmitNext(update);
+            }
+        }
+    }
+
+    private static final class Subscriber {
+        private final Sinks.Many<SequencedUpdate> updates = Sinks.many().unicast().onBackpressureBuffer();
+    }
+
+    private record SequencedUpdate(long sequence, SeatAvailabilityChangedEvent event) {
+    }
+}
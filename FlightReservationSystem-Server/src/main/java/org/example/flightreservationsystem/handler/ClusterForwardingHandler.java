@@ -0,0 +1,105 @@
+package org.example.flightreservationsystem.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.flightreservationsystem.cluster.ClusterForwarder;
+import org.example.flightreservationsystem.cluster.ClusterMember;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+import org.springframework.xml.transform.TransformerHelper;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Relays booking operations to the cluster member that owns their flight. The owner's SOAP
+ * response, faults included, becomes the response of this request.
+ */
+public class ClusterForwardingHandler extends AbstractSoapHandler {
+    private final ClusterForwarder forwarder;
+    private final TransformerHelper transformerHelper = new TransformerHelper();
+
+    public ClusterForwardingHandler(ClusterForwarder forwarder) {
+        this.forwarder = forwarder;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) throws Exception {
+        if (!(endpoint instanceof MethodEndpoint methodEndpoint)) {
+            return true;
+        }
+        PayloadRoot payloadRoot = methodEndpoint.getMethod().getAnnotation(PayloadRoot.class);
+        TransportContext transportContext = TransportContextHolder.getTransportContext();
+        if (payloadRoot == null || transportContext == null
+                || !(transportContext.getConnection() instanceof HttpServletConnection connection)) {
+            return true;
+        }
+        HttpServletRequest httpRequest = connection.getHttpServletRequest();
+        if (forwarder.isForwardedByMember(httpRequest, payloadRoot.localPart())) {
+            return true;
+        }
+
+        ClusterMember owner = switch (payloadRoot.localPart()) {
+            case "createReservationRequest", "joinWaitlistRequest", "getSeatMapRequest",
+                 "cancelFlightReservationsRequest" -> forwarder.remoteOwnerOfFlight(intValue(messageContext, "flightId"));
+            case "cancelReservationRequest" -> forwarder.remoteOwnerOfReservation(textValue(messageContext, "reservationCode"));
+            case "getWaitlistPositionRequest" -> forwarder.remoteOwnerOfWaitlistEntry(intValue(messageContext, "waitlistId"));
+            case "getCancellationStatusRequest" -> forwarder.remoteOwnerOfCancellationJob(textValue(messageContext, "jobId"));
+            default -> null;
+        };
+        if (owner == null) {
+            return true;
+        }
+
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        messageContext.getRequest().writeTo(request);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", httpRequest.getContentType());
+        headers.put("SOAPAction", httpRequest.getHeader("SOAPAction"));
+
+        HttpResponse<byte[]> response = forwarder.forward(owner, "POST", httpRequest.getRequestURI(),
+                payloadRoot.localPart(), request.toByteArray(), headers);
+        logger.debug("Forwarded {} to {} ({})", payloadRoot.localPart(), owner.memberId(), response.statusCode());
+        messageContext.readResponse(new ByteArrayInputStream(response.body()));
+        return false;
+    }
+
+    private Integer intValue(MessageContext messageContext, String name) throws Exception {
+        String text = textValue(messageContext, name);
+        try {
+            return text == null ? null : Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String textValue(MessageContext messageContext, String name) throws Exception {
+        Source source = messageContext.getRequest().getPayloadSource();
+        Node root;
+        if (source instanceof DOMSource domSource) {
+            root = domSource.getNode();
+        } else {
+            DOMResult result = new DOMResult();
+            transformerHelper.transform(source, result);
+            root = result.getNode();
+        }
+        Node payload = root.getNodeType() == Node.DOCUMENT_NODE ? root.getFirstChild() : root;
+        for (Node child = payload == null ? null : payload.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element element && name.equals(element.getLocalName())) {
+                return element.getTextContent();
+            }
+        }
+        return null;
+    }
+}
@@ -2,9 +2,14 @@ package org.example.flightreservationsystem.handler;
 
 import org.springframework.ws.WebServiceMessage;
 import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.mime.MimeMessage;
+import org.springframework.xml.transform.StringResult;
+import org.springframework.xml.transform.TransformerHelper;
+
 import java.io.ByteArrayOutputStream;
 
 public class LoggingHandler extends AbstractSoapHandler {
+    private final TransformerHelper transformerHelper = new TransformerHelper();
 
     @Override
     public boolean handleRequest(MessageContext messageContext, Object endpoint) throws Exception {
@@ -24,6 +29,12 @@ public class LoggingHandler extends AbstractSoapHandler {
 
     private void logMessage(String description, WebServiceMessage message) {
         try {
+            if (message instanceof MimeMessage mimeMessage && mimeMessage.getAttachments().hasNext()) {
+                StringResult payload = new StringResult();
+                transformerHelper.transform(message.getPayloadSource(), payload);
+                logger.debug("{} (attachments not logged): {}", description, payload);
+                return;
+            }
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             message.writeTo(out);
             String messageContent = out.toString("UTF-8");
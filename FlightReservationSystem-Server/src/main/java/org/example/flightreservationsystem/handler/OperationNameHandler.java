@@ -0,0 +1,25 @@
+package org.example.flightreservationsystem.handler;
+
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.MethodEndpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.transport.context.TransportContext;
+import org.springframework.ws.transport.context.TransportContextHolder;
+import org.springframework.ws.transport.http.HttpServletConnection;
+
+public class OperationNameHandler extends AbstractSoapHandler {
+    public static final String OPERATION_ATTRIBUTE = OperationNameHandler.class.getName() + ".operation";
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) throws Exception {
+        if (endpoint instanceof MethodEndpoint methodEndpoint) {
+            PayloadRoot payloadRoot = methodEndpoint.getMethod().getAnnotation(PayloadRoot.class);
+            TransportContext transportContext = TransportContextHolder.getTransportContext();
+            if (payloadRoot != null && transportContext != null
+                    && transportContext.getConnection() instanceof HttpServletConnection connection) {
+                connection.getHttpServletRequest().setAttribute(OPERATION_ATTRIBUTE, payloadRoot.localPart());
+            }
+        }
+        return true;
+    }
+}
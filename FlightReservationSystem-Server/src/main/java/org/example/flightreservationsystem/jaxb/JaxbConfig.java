@@ -0,0 +1,39 @@
+package org.example.flightreservationsystem.jaxb;
+
+import org.example.flightreservationsystem.wsdl.ObjectFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+import org.springframework.ws.WebServiceMessageFactory;
+import org.springframework.ws.transport.http.MessageDispatcherServlet;
+
+@Configuration
+public class JaxbConfig {
+    private static final String AXIOM_MESSAGE_FACTORY = "org.springframework.ws.soap.axiom.AxiomSoapMessageFactory";
+
+    @Bean
+    public SharedJaxbContext flightsJaxbContext(@Value("${jaxb.context.background-init:false}") boolean backgroundInit) {
+        return new SharedJaxbContext(ObjectFactory.class.getPackageName(), backgroundInit);
+    }
+
+    @Bean
+    public static PooledJaxbAdapterPostProcessor pooledJaxbAdapterPostProcessor(ObjectProvider<SharedJaxbContext> flightsJaxbContext) {
+        return new PooledJaxbAdapterPostProcessor(flightsJaxbContext);
+    }
+
+    @Bean(name = MessageDispatcherServlet.DEFAULT_MESSAGE_FACTORY_BEAN_NAME)
+    @ConditionalOnProperty(name = "soap.payload.stax.enabled", havingValue = "true")
+    public WebServiceMessageFactory staxMessageFactory(@Value("${soap.payload.stax.cache-requests:true}") boolean cacheRequests) {
+        if (!ClassUtils.isPresent(AXIOM_MESSAGE_FACTORY, JaxbConfig.class.getClassLoader())) {
+            throw new IllegalStateException("soap.payload.stax.enabled requires Apache Axiom on the classpath (build with -Pstax)");
+        }
+        BeanWrapper factory = new BeanWrapperImpl(ClassUtils.resolveClassName(AXIOM_MESSAGE_FACTORY, JaxbConfig.class.getClassLoader()));
+        factory.setPropertyValue("payloadCaching", cacheRequests);
+        return (WebServiceMessageFactory) factory.getWrappedInstance();
+    }
+}
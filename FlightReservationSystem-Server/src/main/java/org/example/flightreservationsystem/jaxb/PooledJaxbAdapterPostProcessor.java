@@ -0,0 +1,40 @@
+package org.example.flightreservationsystem.jaxb;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.XmlRootElementPayloadMethodProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PooledJaxbAdapterPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SharedJaxbContext> jaxbContext;
+
+    public PooledJaxbAdapterPostProcessor(ObjectProvider<SharedJaxbContext> jaxbContext) {
+        this.jaxbContext = jaxbContext;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DefaultMethodEndpointAdapter adapter) {
+            PooledXmlRootElementPayloadMethodProcessor processor =
+                    new PooledXmlRootElementPayloadMethodProcessor(jaxbContext.getObject());
+
+            List<MethodArgumentResolver> resolvers = new ArrayList<>();
+            for (MethodArgumentResolver resolver : adapter.getMethodArgumentResolvers()) {
+                resolvers.add(resolver.getClass() == XmlRootElementPayloadMethodProcessor.class ? processor : resolver);
+            }
+            adapter.setMethodArgumentResolvers(resolvers);
+
+            List<MethodReturnValueHandler> handlers = new ArrayList<>();
+            for (MethodReturnValueHandler handler : adapter.getMethodReturnValueHandlers()) {
+                handlers.add(handler.getClass() == XmlRootElementPayloadMethodProcessor.class ? processor : handler);
+            }
+            adapter.setMethodReturnValueHandlers(handlers);
+        }
+        return bean;
+    }
+}
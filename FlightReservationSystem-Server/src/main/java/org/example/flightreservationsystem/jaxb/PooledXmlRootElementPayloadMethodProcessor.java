@@ -0,0 +1,24 @@
+package org.example.flightreservationsystem.jaxb;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.XmlRootElementPayloadMethodProcessor;
+
+public class PooledXmlRootElementPayloadMethodProcessor extends XmlRootElementPayloadMethodProcessor {
+    private final SharedJaxbContext jaxbContext;
+
+    public PooledXmlRootElementPayloadMethodProcessor(SharedJaxbContext jaxbContext) {
+        this.jaxbContext = jaxbContext;
+    }
+
+    @Override
+    protected Marshaller createMarshaller(Class<?> clazz) throws JAXBException {
+        return jaxbContext.supports(clazz) ? jaxbContext.getMarshaller() : super.createMarshaller(clazz);
+    }
+
+    @Override
+    protected Unmarshaller createUnmarshaller(Class<?> clazz) throws JAXBException {
+        return jaxbContext.supports(clazz) ? jaxbContext.getUnmarshaller() : super.createUnmarshaller(clazz);
+    }
+}
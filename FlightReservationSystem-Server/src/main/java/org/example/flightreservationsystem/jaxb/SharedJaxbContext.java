@@ -0,0 +1,82 @@
+package org.example.flightreservationsystem.jaxb;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class SharedJaxbContext {
+    private static final Logger logger = LoggerFactory.getLogger(SharedJaxbContext.class);
+
+    private final String contextPath;
+    private final CompletableFuture<JAXBContext> context;
+    private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+    private final ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<>();
+
+    public SharedJaxbContext(String contextPath, boolean backgroundInit) {
+        this.contextPath = contextPath;
+        if (backgroundInit) {
+            this.context = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    context.complete(createContext());
+                } catch (RuntimeException e) {
+                    context.completeExceptionally(e);
+                }
+            }, "jaxb-context-init");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            this.context = CompletableFuture.completedFuture(createContext());
+        }
+    }
+
+    public boolean supports(Class<?> clazz) {
+        return clazz.getPackageName().equals(contextPath);
+    }
+
+    public JAXBContext getContext() throws JAXBException {
+        try {
+            return context.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IllegalStateException state && state.getCause() instanceof JAXBException jaxb) {
+                throw jaxb;
+            }
+            throw e;
+        }
+    }
+
+    public Marshaller getMarshaller() throws JAXBException {
+        Marshaller marshaller = marshallers.get();
+        if (marshaller == null) {
+            marshaller = getContext().createMarshaller();
+            marshallers.set(marshaller);
+        }
+        return marshaller;
+    }
+
+    public Unmarshaller getUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.get();
+        if (unmarshaller == null) {
+            unmarshaller = getContext().createUnmarshaller();
+            unmarshallers.set(unmarshaller);
+        }
+        return unmarshaller;
+    }
+
+    private JAXBContext createContext() {
+        long start = System.nanoTime();
+        try {
+            JAXBContext jaxbContext = JAXBContext.newInstance(contextPath, SharedJaxbContext.class.getClassLoader());
+            logger.info("JAXB context for {} created in {} ms", contextPath, (System.nanoTime() - start) / 1_000_000);
+            return jaxbContext;
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Could not create JAXB context for " + contextPath, e);
+        }
+    }
+}
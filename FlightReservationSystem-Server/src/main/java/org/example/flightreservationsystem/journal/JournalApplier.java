@@ -0,0 +1,93 @@
+package org.example.flightreservationsystem.journal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "reservations.journal.enabled", havingValue = "true")
+public class JournalApplier {
+    private static final String INSERT_RESERVATION_SQL =
+            "INSERT INTO reservations (RESERVATION_CODE, PASSENGER_FIRSTNAME, PASSENGER_LASTNAME, PASSENGER_EMAIL, " +
+            "SEATS_RESERVED, TOTAL_PRICE, RESERVATION_DATE, FLIGHT_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RESERVE_SEATS_SQL =
+            "UPDATE flights SET AVAILABLE_SEATS = AVAILABLE_SEATS - ? WHERE FLIGHT_ID = ?";
+
+    private final ReservationJournal journal;
+    private final JournalCheckpointStore checkpointStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public JournalApplier(ReservationJournal journal,
+                          JournalCheckpointStore checkpointStore,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${reservations.journal.apply-batch-size:500}") int batchSize) {
+        this.journal = journal;
+        this.checkpointStore = checkpointStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${reservations.journal.apply-interval-ms:200}")
+    public void applyPending() {
+        journal.getApplyLock().lock();
+        try {
+            List<JournalEntry> batch;
+            do {
+                batch = journal.getUnapplied(batchSize);
+                if (!batch.isEmpty()) {
+                    applyBatch(batch);
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            journal.getApplyLock().unlock();
+        }
+    }
+
+    private void applyBatch(List<JournalEntry> batch) {
+        long lastLsn = batch.get(batch.size() - 1).getLsn();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> reservations = new ArrayList<>(batch.size());
+            Map<Integer, Integer> seatsByFlight = new LinkedHashMap<>();
+            for (JournalEntry entry : batch) {
+                reservations.add(new Object[]{
+                        entry.getReservationCode(),
+                        entry.getPassengerFirstname(),
+                        entry.getPassengerLastname(),
+                        entry.getPassengerEmail(),
+                        entry.getSeatsReserved(),
+                        BigDecimal.valueOf(entry.getTotalPriceCents(), 2),
+                        new Timestamp(entry.getReservationEpochMillis()),
+                        entry.getFlightId()
+                });
+                seatsByFlight.merge(entry.getFlightId(), entry.getSeatsReserved(), Integer::sum);
+            }
+
+            List<Object[]> seatUpdates = new ArrayList<>(seatsByFlight.size());
+            seatsByFlight.forEach((flightId, seats) -> seatUpdates.add(new Object[]{seats, flightId}));
+
+            jdbcTemplate.batchUpdate(INSERT_RESERVATION_SQL, reservations);
+            jdbcTemplate.batchUpdate(RESERVE_SEATS_SQL, seatUpdates);
+            checkpointStore.save(lastLsn);
+        });
+
+        journal.markApplied(lastLsn);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.flightreservationsystem.journal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "reservations.journal.enabled", havingValue = "true")
+public class JournalCheckpointStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JournalCheckpointStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long load() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS reservation_journal_checkpoint (" +
+                "ID INT NOT NULL PRIMARY KEY, APPLIED_LSN BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT IGNORE INTO reservation_journal_checkpoint (ID, APPLIED_LSN) VALUES (1, 0)");
+        return jdbcTemplate.queryForObject(
+                "SELECT APPLIED_LSN FROM reservation_journal_checkpoint WHERE ID = 1", Long.class);
+    }
+
+    public void save(long appliedLsn) {
+        int updated = jdbcTemplate.update(
+                "UPDATE reservation_journal_checkpoint SET APPLIED_LSN = ? WHERE ID = 1 AND APPLIED_LSN < ?",
+                appliedLsn, appliedLsn);
+        if (updated != 1) {
+            throw new IllegalStateException("Journal checkpoint is already at or beyond LSN " + appliedLsn);
+        }
+    }
+}
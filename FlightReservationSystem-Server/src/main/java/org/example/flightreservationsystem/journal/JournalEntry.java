@@ -0,0 +1,103 @@
+package org.example.flightreservationsystem.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public final class JournalEntry {
+    private final long lsn;
+    private final int flightId;
+    private final int seatsReserved;
+    private final long totalPriceCents;
+    private final long reservationEpochMillis;
+    private final String reservationCode;
+    private final String passengerFirstname;
+    private final String passengerLastname;
+    private final String passengerEmail;
+
+    public JournalEntry(long lsn, int flightId, int seatsReserved, long totalPriceCents, long reservationEpochMillis,
+                        String reservationCode, String passengerFirstname, String passengerLastname,
+                        String passengerEmail) {
+        this.lsn = lsn;
+        this.flightId = flightId;
+        this.seatsReserved = seatsReserved;
+        this.totalPriceCents = totalPriceCents;
+        this.reservationEpochMillis = reservationEpochMillis;
+        this.reservationCode = reservationCode;
+        this.passengerFirstname = passengerFirstname;
+        this.passengerLastname = passengerLastname;
+        this.passengerEmail = passengerEmail;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public int getFlightId() {
+        return flightId;
+    }
+
+    public int getSeatsReserved() {
+        return seatsReserved;
+    }
+
+    public long getTotalPriceCents() {
+        return totalPriceCents;
+    }
+
+    public long getReservationEpochMillis() {
+        return reservationEpochMillis;
+    }
+
+    public String getReservationCode() {
+        return reservationCode;
+    }
+
+    public String getPassengerFirstname() {
+        return passengerFirstname;
+    }
+
+    public String getPassengerLastname() {
+        return passengerLastname;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    byte[] encode() {
+        byte[] code = reservationCode.getBytes(StandardCharsets.UTF_8);
+        byte[] firstname = passengerFirstname.getBytes(StandardCharsets.UTF_8);
+        byte[] lastname = passengerLastname.getBytes(StandardCharsets.UTF_8);
+        byte[] email = passengerEmail.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES * 2 + Long.BYTES * 2
+                + Short.BYTES * 4 + code.length + firstname.length + lastname.length + email.length);
+        buffer.putLong(lsn);
+        buffer.putInt(flightId);
+        buffer.putInt(seatsReserved);
+        buffer.putLong(totalPriceCents);
+        buffer.putLong(reservationEpochMillis);
+        putString(buffer, code);
+        putString(buffer, firstname);
+        putString(buffer, lastname);
+        putString(buffer, email);
+        return buffer.array();
+    }
+
+    static JournalEntry decode(ByteBuffer buffer) {
+        return new JournalEntry(buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong(),
+                getString(buffer), getString(buffer), getString(buffer), getString(buffer));
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+}
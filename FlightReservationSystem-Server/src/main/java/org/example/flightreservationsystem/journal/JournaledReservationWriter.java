@@ -0,0 +1,112 @@
+package org.example.flightreservationsystem.journal;
+
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.ReservationDTO;
+import org.example.flightreservationsystem.pricing.PricingEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+@Component
+@ConditionalOnProperty(name = "reservations.journal.enabled", havingValue = "true")
+public class JournaledReservationWriter {
+    private static final String CODE_ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final ReservationJournal journal;
+    private final JournalApplier applier;
+    private final SeatLedger seatLedger;
+    private final PricingEngine pricingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long appendTimeoutMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public JournaledReservationWriter(ReservationJournal journal,
+                                      JournalApplier applier,
+                                      SeatLedger seatLedger,
+                                      PricingEngine pricingEngine,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${reservations.journal.append-timeout-ms:5000}") long appendTimeoutMs) {
+        this.journal = journal;
+        this.applier = applier;
+        this.seatLedger = seatLedger;
+        this.pricingEngine = pricingEngine;
+        this.eventPublisher = eventPublisher;
+        this.appendTimeoutMs = appendTimeoutMs;
+    }
+
+    public ReservationDTO createReservation(ReservationDTO reservation) {
+        Integer flightId = reservation.getFlight().getId();
+        int seats = reservation.getSeatsReserved();
+
+        SeatAvailabilityChangedEvent change = seatLedger.reserve(flightId, seats);
+        int remaining = change.getAvailableSeats();
+        JournalEntry entry;
+        try {
+            long totalPriceCents = Math.multiplyExact(
+                    pricingEngine.fareCents(seatLedger.snapshot(flightId, remaining + seats)), seats);
+            long now = System.currentTimeMillis();
+
+            entry = journal.append(lsn -> new JournalEntry(lsn, flightId, seats, totalPriceCents, now,
+                    generateReservationCode(lsn),
+                    reservation.getPassengerFirstname(),
+                    reservation.getPassengerLastname(),
+                    reservation.getPassengerEmail()), appendTimeoutMs);
+        } catch (RuntimeException e) {
+            seatLedger.release(flightId, seats);
+            throw e;
+        }
+
+        eventPublisher.publishEvent(change);
+        return toReservation(entry, seatLedger.snapshot(flightId, remaining));
+    }
+
+    public ReservationDTO findPendingReservation(String reservationCode) {
+        JournalEntry entry = journal.findUnapplied(reservationCode);
+        if (entry == null) {
+            return null;
+        }
+        return toReservation(entry, seatLedger.snapshot(entry.getFlightId(), seatLedger.getAvailableSeats(entry.getFlightId())));
+    }
+
+    public boolean hasPendingReservations(String passengerEmail) {
+        return journal.hasUnappliedForEmail(passengerEmail);
+    }
+
+    public void flush() {
+        applier.applyPending();
+    }
+
+    private ReservationDTO toReservation(JournalEntry entry, FlightDTO flight) {
+        ReservationDTO reservation = new ReservationDTO();
+        reservation.setReservationCode(entry.getReservationCode());
+        reservation.setPassengerFirstname(entry.getPassengerFirstname());
+        reservation.setPassengerLastname(entry.getPassengerLastname());
+        reservation.setPassengerEmail(entry.getPassengerEmail());
+        reservation.setSeatsReserved(entry.getSeatsReserved());
+        reservation.setTotalPrice(BigDecimal.valueOf(entry.getTotalPriceCents(), 2));
+        reservation.setReservationDate(LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(entry.getReservationEpochMillis()), ZoneId.systemDefault()));
+        reservation.setFlight(flight);
+        return reservation;
+    }
+
+    private String generateReservationCode(long lsn) {
+        StringBuilder code = new StringBuilder(Long.toString(lsn, 36).toUpperCase(Locale.ROOT));
+        while (code.length() < 6) {
+            code.insert(0, '0');
+        }
+        for (int i = 0; i < 4; i++) {
+            code.append(CODE_ALPHABET.charAt(random.nextInt(CODE_ALPHABET.length())));
+        }
+        return code.toString();
+    }
+}
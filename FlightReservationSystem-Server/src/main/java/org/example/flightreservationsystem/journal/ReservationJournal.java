@@ -0,0 +1,335 @@
+package org.example.flightreservationsystem.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Component
+@ConditionalOnProperty(name = "reservations.journal.enabled", havingValue = "true")
+public class ReservationJournal {
+    private static final Logger logger = LoggerFactory.getLogger(ReservationJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int RECORD_OVERHEAD = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxGroupSize;
+
+    private final BlockingQueue<PendingAppend> appendQueue = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final NavigableMap<Long, JournalEntry> unapplied = new ConcurrentSkipListMap<>();
+    private final Map<String, JournalEntry> unappliedByCode = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final Thread flusher;
+
+    private long nextLsn;
+    private volatile boolean running = true;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private volatile long currentSegmentLsn = -1;
+    private int forceFrom;
+
+    public ReservationJournal(@Value("${reservations.journal.directory:journal}") String directory,
+                              @Value("${reservations.journal.segment-size-mb:64}") int segmentSizeMb,
+                              @Value("${reservations.journal.max-group-size:512}") int maxGroupSize,
+                              JournalCheckpointStore checkpointStore) throws IOException {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.maxGroupSize = maxGroupSize;
+
+        Files.createDirectories(this.directory);
+        long appliedLsn = checkpointStore.load();
+        nextLsn = Math.max(recover(appliedLsn), appliedLsn);
+        logger.info("Reservation journal opened at {}: {} entries to apply, next LSN {}",
+                this.directory.toAbsolutePath(), unapplied.size(), nextLsn + 1);
+
+        flusher = new Thread(this::flushLoop, "reservation-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Appends an entry and waits until it is durable. An entry that is still queued when the wait
+     * times out or is interrupted is withdrawn, so a failed call never leaves a booking behind; if
+     * the flusher has already started writing it, the outcome of that write is awaited instead.
+     */
+    public JournalEntry append(LongFunction<JournalEntry> entryFactory, long timeoutMs) {
+        if (!running) {
+            throw new IllegalStateException("Reservation journal is closed");
+        }
+        PendingAppend pending;
+        synchronized (appendLock) {
+            pending = new PendingAppend(entryFactory.apply(++nextLsn));
+            appendQueue.add(pending);
+        }
+
+        boolean interrupted = false;
+        try {
+            return pending.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+            return withdraw(pending, "Interrupted while journaling reservation");
+        } catch (TimeoutException e) {
+            return withdraw(pending, "Reservation journal did not acknowledge within " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not journal reservation: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public List<JournalEntry> getUnapplied(int limit) {
+        List<JournalEntry> entries = new ArrayList<>(Math.min(limit, unapplied.size()));
+        for (JournalEntry entry : unapplied.values()) {
+            if (entries.size() == limit) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    public List<JournalEntry> getUnappliedForFlight(int flightId) {
+        return unapplied.values().stream().filter(entry -> entry.getFlightId() == flightId).toList();
+    }
+
+    public boolean hasUnappliedForEmail(String passengerEmail) {
+        return unapplied.values().stream().anyMatch(entry -> passengerEmail.equalsIgnoreCase(entry.getPassengerEmail()));
+    }
+
+    public JournalEntry findUnapplied(String reservationCode) {
+        return unappliedByCode.get(reservationCode);
+    }
+
+    public ReentrantLock getApplyLock() {
+        return applyLock;
+    }
+
+    public void markApplied(long appliedLsn) {
+        NavigableMap<Long, JournalEntry> applied = unapplied.headMap(appliedLsn, true);
+        applied.values().forEach(entry -> unappliedByCode.remove(entry.getReservationCode()));
+        applied.clear();
+
+        for (Map.Entry<Long, Path> segment : segments.headMap(currentSegmentLsn, false).entrySet()) {
+            Long nextSegmentLsn = segments.higherKey(segment.getKey());
+            if (nextSegmentLsn == null || nextSegmentLsn - 1 > appliedLsn) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+            } catch (IOException e) {
+                logger.warn("Could not delete applied journal segment {}", segment.getValue(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        flusher.join();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private long recover(long appliedLsn) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        long lastLsn = 0;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            String name = file.getFileName().toString();
+            long firstLsn = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            segments.put(firstLsn, file);
+
+            FileChannel segmentChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer segmentBuffer = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+
+            JournalEntry entry;
+            while ((entry = readRecord(segmentBuffer)) != null) {
+                lastLsn = entry.getLsn();
+                if (entry.getLsn() > appliedLsn) {
+                    unapplied.put(entry.getLsn(), entry);
+                    unappliedByCode.put(entry.getReservationCode(), entry);
+                }
+            }
+
+            if (i == files.size() - 1) {
+                int position = segmentBuffer.position();
+                while (segmentBuffer.hasRemaining()) {
+                    segmentBuffer.put((byte) 0);
+                }
+                segmentBuffer.force();
+                segmentBuffer.position(position);
+
+                channel = segmentChannel;
+                buffer = segmentBuffer;
+                currentSegmentLsn = firstLsn;
+                forceFrom = position;
+            } else {
+                segmentChannel.close();
+            }
+        }
+        return lastLsn;
+    }
+
+    private JournalEntry readRecord(MappedByteBuffer segmentBuffer) {
+        int start = segmentBuffer.position();
+        if (segmentBuffer.remaining() < RECORD_OVERHEAD) {
+            return null;
+        }
+        int length = segmentBuffer.getInt();
+        if (length <= 0 || length > segmentBuffer.remaining() - Integer.BYTES) {
+            segmentBuffer.position(start);
+            return null;
+        }
+
+        ByteBuffer payload = segmentBuffer.slice(segmentBuffer.position(), length);
+        segmentBuffer.position(segmentBuffer.position() + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != segmentBuffer.getInt()) {
+            segmentBuffer.position(start);
+            return null;
+        }
+        return JournalEntry.decode(payload);
+    }
+
+    private JournalEntry withdraw(PendingAppend pending, String reason) {
+        if (pending.state.compareAndSet(PendingAppend.QUEUED, PendingAppend.WITHDRAWN)) {
+            throw new IllegalStateException(reason);
+        }
+        try {
+            return pending.future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not journal reservation: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingAppend> group = new ArrayList<>(maxGroupSize);
+        while (running || !appendQueue.isEmpty()) {
+            try {
+                PendingAppend first = appendQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                appendQueue.drainTo(group, maxGroupSize - 1);
+                group.removeIf(pending -> !pending.state.compareAndSet(PendingAppend.QUEUED, PendingAppend.WRITING));
+                if (group.isEmpty()) {
+                    continue;
+                }
+
+                for (PendingAppend pending : group) {
+                    write(pending.entry);
+                }
+                buffer.force(forceFrom, buffer.position() - forceFrom);
+                forceFrom = buffer.position();
+
+                for (PendingAppend pending : group) {
+                    unapplied.put(pending.entry.getLsn(), pending.entry);
+                    unappliedByCode.put(pending.entry.getReservationCode(), pending.entry);
+                    pending.future.complete(pending.entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Reservation journal write failed, rejecting further bookings", e);
+                running = false;
+                group.forEach(pending -> pending.future.completeExceptionally(e));
+                appendQueue.forEach(pending -> pending.future.completeExceptionally(e));
+                appendQueue.clear();
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(JournalEntry entry) throws IOException {
+        byte[] payload = entry.encode();
+        int recordSize = RECORD_OVERHEAD + payload.length;
+        if (recordSize + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Journal entry of " + recordSize + " bytes exceeds segment size");
+        }
+        if (buffer == null || buffer.remaining() < recordSize + Integer.BYTES) {
+            rotate(entry.getLsn());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private void rotate(long firstLsn) throws IOException {
+        if (buffer != null) {
+            buffer.force(forceFrom, buffer.position() - forceFrom);
+            channel.close();
+        }
+
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segments.put(firstLsn, file);
+        currentSegmentLsn = firstLsn;
+        forceFrom = 0;
+    }
+
+    private static final class PendingAppend {
+        private static final int QUEUED = 0;
+        private static final int WRITING = 1;
+        private static final int WITHDRAWN = 2;
+
+        private final JournalEntry entry;
+        private final CompletableFuture<JournalEntry> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private PendingAppend(JournalEntry entry) {
+            this.entry = entry;
+        }
+    }
+}
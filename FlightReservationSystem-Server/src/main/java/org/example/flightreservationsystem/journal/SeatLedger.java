@@ -0,0 +1,143 @@
+package org.example.flightreservationsystem.journal;
+
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory seat counters of the flights booked in journaled mode, together with the fare inputs
+ * their quotes are priced from. Both are loaded on first use; {@link #refresh} reloads them for
+ * flights whose schedule was rewritten, and {@link #evict} drops archived flights.
+ */
+@Component
+@ConditionalOnProperty(name = "reservations.journal.enabled", havingValue = "true")
+public class SeatLedger {
+
+    private final FlightRepository flightRepository;
+    private final ReservationJournal journal;
+    private final Map<Integer, FlightSeats> flights = new ConcurrentHashMap<>();
+
+    public SeatLedger(FlightRepository flightRepository, ReservationJournal journal) {
+        this.flightRepository = flightRepository;
+        this.journal = journal;
+    }
+
+    /**
+     * Takes the seats off the flight's counter and describes the change. The event is created while
+     * the flight is held, so its sequence follows the order of the reservations.
+     */
+    public SeatAvailabilityChangedEvent reserve(Integer flightId, int seats) {
+        FlightSeats flightSeats = seatsOf(flightId);
+        synchronized (flightSeats) {
+            AtomicInteger available = flightSeats.available;
+            int current;
+            do {
+                current = available.get();
+                if (current < seats) {
+                    throw new IllegalStateException("Not enough seats available");
+                }
+            } while (!available.compareAndSet(current, current - seats));
+            return new SeatAvailabilityChangedEvent(flightId, current - seats, -seats);
+        }
+    }
+
+    public int release(Integer flightId, int seats) {
+        return seatsOf(flightId).available.addAndGet(seats);
+    }
+
+    public FlightDTO snapshot(Integer flightId, int availableSeats) {
+        FlightDTO flight = seatsOf(flightId).flight;
+        FlightDTO copy = new FlightDTO();
+        copy.setId(flight.getId());
+        copy.setFlightCode(flight.getFlightCode());
+        copy.setDepartureCity(flight.getDepartureCity());
+        copy.setArrivalCity(flight.getArrivalCity());
+        copy.setDepartureDatetime(flight.getDepartureDatetime());
+        copy.setArrivalDatetime(flight.getArrivalDatetime());
+        copy.setTotalSeats(flight.getTotalSeats());
+        copy.setAvailableSeats(availableSeats);
+        copy.setBasePrice(flight.getBasePrice());
+        return copy;
+    }
+
+    public int getAvailableSeats(Integer flightId) {
+        return seatsOf(flightId).available.get();
+    }
+
+    /**
+     * Re-reads the fare inputs of the given flights and moves their counters by the change in
+     * capacity, the same adjustment the schedule import applies to {@code AVAILABLE_SEATS}.
+     */
+    public void refresh(Collection<Integer> flightIds) {
+        journal.getApplyLock().lock();
+        try {
+            for (Integer flightId : flightIds) {
+                FlightSeats seats = flights.get(flightId);
+                if (seats == null) {
+                    continue;
+                }
+                FlightDTO flight = flightRepository.findById(flightId).orElse(null);
+                if (flight == null) {
+                    flights.remove(flightId);
+                    continue;
+                }
+                seats.available.addAndGet(flight.getTotalSeats() - seats.flight.getTotalSeats());
+                seats.flight = flight;
+            }
+        } finally {
+            journal.getApplyLock().unlock();
+        }
+    }
+
+    public void evict(Collection<Integer> flightIds) {
+        flightIds.forEach(flights::remove);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        FlightSeats seats = flights.get(event.getFlightId());
+        if (seats != null && event.getDelta() > 0) {
+            seats.available.addAndGet(event.getDelta());
+        }
+    }
+
+    private FlightSeats seatsOf(Integer flightId) {
+        FlightSeats seats = flights.get(flightId);
+        if (seats != null) {
+            return seats;
+        }
+
+        journal.getApplyLock().lock();
+        try {
+            return flights.computeIfAbsent(flightId, id -> {
+                FlightDTO flight = flightRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("Flight not found with id: " + id));
+                int pending = journal.getUnappliedForFlight(id).stream()
+                        .mapToInt(JournalEntry::getSeatsReserved)
+                        .sum();
+                return new FlightSeats(flight, flight.getAvailableSeats() - pending);
+            });
+        } finally {
+            journal.getApplyLock().unlock();
+        }
+    }
+
+    private static final class FlightSeats {
+        private volatile FlightDTO flight;
+        private final AtomicInteger available;
+
+        private FlightSeats(FlightDTO flight, int available) {
+            this.flight = flight;
+            this.available = new AtomicInteger(available);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.flightreservationsystem.manifest;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+class CsvManifestWriter implements ManifestWriter {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String HEADER =
+            "reservationCode,lastName,firstName,email,seatsReserved,seatNumbers,bookedAt\r\n";
+
+    private final StringBuilder line = new StringBuilder(256);
+    private OutputStream out;
+
+    @Override
+    public void begin(OutputStream out, FlightDTO flight) throws IOException {
+        this.out = out;
+        out.write(HEADER.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(ManifestRow row) throws IOException {
+        line.setLength(0);
+        field(row.reservationCode()).append(',');
+        field(row.lastName()).append(',');
+        field(row.firstName()).append(',');
+        field(row.email()).append(',');
+        line.append(row.seatsReserved()).append(',');
+        field(row.seatNumbers()).append(',');
+        field(row.reservationDate() == null ? null : row.reservationDate().format(DATE_TIME)).append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+
+    private StringBuilder field(String value) {
+        if (value == null || value.isEmpty()) {
+            return line;
+        }
+        boolean formula = "=+-@".indexOf(value.charAt(0)) >= 0;
+        boolean quoted = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quoted) {
+            return line.append(value);
+        }
+        line.append('"');
+        if (formula) {
+            line.append('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+}
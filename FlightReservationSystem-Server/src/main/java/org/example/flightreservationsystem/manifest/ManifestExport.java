@@ -0,0 +1,292 @@
+package org.example.flightreservationsystem.manifest;
+
+import jakarta.activation.DataSource;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A manifest that is rendered while it is read. Opening the stream runs a streaming query on a
+ * connection of its own; rows are rendered {@link #ROWS_PER_FILL} at a time as the consumer reads,
+ * so only one chunk of output is held in memory. The connection is released at the end of the
+ * data, on the first error, or when the stream is closed. The export itself holds an admission
+ * permit that is handed back once, through {@link #release()}, when its stream closes or cannot be
+ * opened. {@link #watch} bounds how long a permit can be held by a response that is never written
+ * or by a client that stops reading.
+ */
+public class ManifestExport implements DataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ManifestExport.class);
+    private static final int ROWS_PER_FILL = 64;
+    private static final String MANIFEST_SQL =
+            "SELECT RESERVATION_CODE, PASSENGER_LASTNAME, PASSENGER_FIRSTNAME, PASSENGER_EMAIL, SEATS_RESERVED, " +
+            "SEAT_NUMBERS, RESERVATION_DATE FROM reservations WHERE FLIGHT_ID = ? AND CANCELLED_AT IS NULL " +
+            "ORDER BY PASSENGER_LASTNAME, PASSENGER_FIRSTNAME, RESERVATION_ID";
+
+    private final javax.sql.DataSource dataSource;
+    private final FlightDTO flight;
+    private final ManifestFormat format;
+    private final int reservationCount;
+    private final long seatCount;
+    private final Runnable onRelease;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private final long createdNanos = System.nanoTime();
+    private volatile ManifestInputStream openStream;
+    private volatile ScheduledFuture<?> watchdog;
+
+    public ManifestExport(javax.sql.DataSource dataSource, FlightDTO flight, ManifestFormat format,
+                          int reservationCount, long seatCount, Runnable onRelease) {
+        this.dataSource = dataSource;
+        this.flight = flight;
+        this.format = format;
+        this.reservationCount = reservationCount;
+        this.seatCount = seatCount;
+        this.onRelease = onRelease;
+    }
+
+    public FlightDTO getFlight() {
+        return flight;
+    }
+
+    public ManifestFormat getFormat() {
+        return format;
+    }
+
+    public int getReservationCount() {
+        return reservationCount;
+    }
+
+    public long getSeatCount() {
+        return seatCount;
+    }
+
+    /**
+     * Hands back the admission permit of this export. Only the first call has an effect.
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            ScheduledFuture<?> task = watchdog;
+            if (task != null) {
+                task.cancel(false);
+            }
+            onRelease.run();
+        }
+    }
+
+    /**
+     * Releases the export if no stream was opened within {@code openTimeoutMs}, and closes its stream
+     * once nothing was read from it for {@code idleTimeoutMs}.
+     */
+    public void watch(ScheduledExecutorService scheduler, long openTimeoutMs, long idleTimeoutMs) {
+        long openTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(openTimeoutMs);
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        long period = Math.max(1, Math.min(openTimeoutMs, idleTimeoutMs) / 2);
+        watchdog = scheduler.scheduleWithFixedDelay(() -> {
+            ManifestInputStream stream = openStream;
+            if (stream != null) {
+                stream.closeIfIdle(idleTimeoutNanos);
+            } else if (System.nanoTime() - createdNanos > openTimeoutNanos) {
+                logger.warn("Manifest of flight {} was not opened within {} ms", flight.getId(), openTimeoutMs);
+                release();
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        if (released.get()) {
+            watchdog.cancel(false);
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(
+                    MANIFEST_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setInt(1, flight.getId());
+            ManifestInputStream stream = new ManifestInputStream(connection, statement, statement.executeQuery(),
+                    format.newWriter());
+            openStream = stream;
+            return stream;
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            release();
+            throw new IOException("Cannot read manifest of flight " + flight.getId(), e);
+        }
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        throw new UnsupportedOperationException("Manifests are read-only");
+    }
+
+    @Override
+    public String getContentType() {
+        return format.getContentType();
+    }
+
+    @Override
+    public String getName() {
+        return "Manifest_" + flight.getFlightCode() + "_" + flight.getDepartureDatetime().toLocalDate() + "." +
+                format.getExtension();
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private final class ManifestInputStream extends InputStream {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private final ManifestWriter writer;
+        private final Chunk chunk = new Chunk();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastReadNanos = System.nanoTime();
+        private int position;
+        private boolean finished;
+        private boolean closed;
+        private boolean timedOut;
+
+        private ManifestInputStream(Connection connection, PreparedStatement statement, ResultSet resultSet,
+                                    ManifestWriter writer) throws IOException {
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.writer = writer;
+            try {
+                writer.begin(chunk, flight);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            lock.lock();
+            try {
+                if (timedOut) {
+                    throw new IOException("Manifest stream of flight " + flight.getId() + " timed out");
+                }
+                while (position == chunk.size()) {
+                    if (finished) {
+                        return -1;
+                    }
+                    fill();
+                }
+                int count = Math.min(length, chunk.size() - position);
+                System.arraycopy(chunk.bytes(), position, buffer, offset, count);
+                position += count;
+                return count;
+            } finally {
+                lastReadNanos = System.nanoTime();
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                finished = true;
+                closeQuietly(resultSet);
+                closeQuietly(statement);
+                closeQuietly(connection);
+                release();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Called by the watchdog; a read in progress holds the lock and is never interrupted.
+         */
+        private void closeIfIdle(long idleTimeoutNanos) {
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (!closed && System.nanoTime() - lastReadNanos > idleTimeoutNanos) {
+                    logger.warn("Closing manifest stream of flight {} after {} ms without reads", flight.getId(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastReadNanos));
+                    timedOut = true;
+                    close();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void fill() throws IOException {
+            if (closed) {
+                throw new IOException("Manifest stream is closed");
+            }
+            chunk.reset();
+            position = 0;
+            try {
+                int rows = 0;
+                while (rows < ROWS_PER_FILL && resultSet.next()) {
+                    Timestamp reservationDate = resultSet.getTimestamp(7);
+                    writer.write(new ManifestRow(resultSet.getString(1), resultSet.getString(2), resultSet.getString(3),
+                            resultSet.getString(4), resultSet.getInt(5), resultSet.getString(6),
+                            reservationDate == null ? null : reservationDate.toLocalDateTime()));
+                    rows++;
+                }
+                if (rows < ROWS_PER_FILL) {
+                    writer.end();
+                    close();
+                }
+            } catch (SQLException e) {
+                close();
+                throw new IOException("Reading manifest of flight " + flight.getId() + " failed", e);
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    private static final class Chunk extends ByteArrayOutputStream {
+        private Chunk() {
+            super(16 * 1024);
+        }
+
+        private byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.flightreservationsystem.manifest;
+
+public enum ManifestFormat {
+    CSV("text/csv; charset=UTF-8", "csv"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    ManifestFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    ManifestWriter newWriter() {
+        return this == CSV ? new CsvManifestWriter() : new PdfManifestWriter();
+    }
+}
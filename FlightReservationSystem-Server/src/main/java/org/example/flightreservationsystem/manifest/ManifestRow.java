@@ -0,0 +1,7 @@
+package org.example.flightreservationsystem.manifest;
+
+import java.time.LocalDateTime;
+
+record ManifestRow(String reservationCode, String lastName, String firstName, String email,
+                   int seatsReserved, String seatNumbers, LocalDateTime reservationDate) {
+}
@@ -0,0 +1,16 @@
+package org.example.flightreservationsystem.manifest;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Renders a manifest row by row. Implementations write to the stream given to {@link #begin} as
+ * early as their format allows and must not keep rows once they have been written.
+ */
+interface ManifestWriter {
+    void begin(OutputStream out, FlightDTO flight) throws IOException;
+    void write(ManifestRow row) throws IOException;
+    void end() throws IOException;
+}
@@ -0,0 +1,109 @@
+package org.example.flightreservationsystem.manifest;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.example.flightreservationsystem.model.FlightDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the passenger table as an incomplete iText table that is added to the document every
+ * {@link #FLUSH_ROWS} rows, so finished pages are written out and their rows released.
+ */
+class PdfManifestWriter implements ManifestWriter {
+    private static final int FLUSH_ROWS = 50;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final String[] COLUMNS = {"Code", "Last name", "First name", "Email", "Seats", "Seat numbers"};
+
+    private final Font cellFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+    private Document document;
+    private PdfPTable table;
+    private int pendingRows;
+    private int reservations;
+    private long seats;
+
+    @Override
+    public void begin(OutputStream out, FlightDTO flight) throws IOException {
+        document = new Document(PageSize.A4, 36, 36, 36, 36);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16, BaseColor.BLACK);
+            Font contentFont = FontFactory.getFont(FontFactory.HELVETICA, 11, BaseColor.BLACK);
+            Paragraph title = new Paragraph("Passenger Manifest", titleFont);
+            title.setAlignment(Element.ALIGN_CENTER);
+            title.setSpacingAfter(12f);
+            document.add(title);
+            document.add(new Paragraph("Flight " + flight.getFlightCode() + ": " +
+                    flight.getDepartureCity().getCityName() + " - " + flight.getArrivalCity().getCityName(), contentFont));
+            document.add(new Paragraph("Departure: " + flight.getDepartureDatetime().format(DATE_TIME), contentFont));
+            Paragraph generated = new Paragraph("Generated: " + LocalDateTime.now().format(DATE_TIME), contentFont);
+            generated.setSpacingAfter(10f);
+            document.add(generated);
+
+            table = new PdfPTable(new float[]{2.2f, 3f, 3f, 4.5f, 1.2f, 2.6f});
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9, BaseColor.WHITE);
+            PdfPCell header = new PdfPCell();
+            header.setBackgroundColor(BaseColor.DARK_GRAY);
+            header.setPadding(4);
+            for (String column : COLUMNS) {
+                header.setPhrase(new Phrase(column, headerFont));
+                table.addCell(header);
+            }
+        } catch (DocumentException e) {
+            throw new IOException("Cannot start manifest PDF", e);
+        }
+    }
+
+    @Override
+    public void write(ManifestRow row) throws IOException {
+        table.addCell(new Phrase(row.reservationCode(), cellFont));
+        table.addCell(new Phrase(row.lastName(), cellFont));
+        table.addCell(new Phrase(row.firstName(), cellFont));
+        table.addCell(new Phrase(row.email(), cellFont));
+        table.addCell(new Phrase(String.valueOf(row.seatsReserved()), cellFont));
+        table.addCell(new Phrase(row.seatNumbers() == null ? "" : row.seatNumbers(), cellFont));
+        reservations++;
+        seats += row.seatsReserved();
+        if (++pendingRows == FLUSH_ROWS) {
+            add(table);
+            pendingRows = 0;
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        table.setComplete(true);
+        add(table);
+        Paragraph totals = new Paragraph("Reservations: " + reservations + "    Seats: " + seats,
+                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK));
+        totals.setSpacingBefore(10f);
+        add(totals);
+        document.close();
+    }
+
+    private void add(Element element) throws IOException {
+        try {
+            document.add(element);
+        } catch (DocumentException e) {
+            throw new IOException("Cannot write manifest PDF", e);
+        }
+    }
+}
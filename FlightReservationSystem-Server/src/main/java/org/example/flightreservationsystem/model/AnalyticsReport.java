@@ -0,0 +1,37 @@
+package org.example.flightreservationsystem.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AnalyticsReport {
+    public enum Grouping { ROUTE, DAY, FLIGHT }
+
+    private final Grouping grouping;
+    private final LocalDateTime snapshotTakenAt;
+    private final int[] bookingCurveDays;
+    private final List<AnalyticsReportRow> rows;
+
+    public AnalyticsReport(Grouping grouping, LocalDateTime snapshotTakenAt, int[] bookingCurveDays,
+                           List<AnalyticsReportRow> rows) {
+        this.grouping = grouping;
+        this.snapshotTakenAt = snapshotTakenAt;
+        this.bookingCurveDays = bookingCurveDays;
+        this.rows = rows;
+    }
+
+    public Grouping getGrouping() {
+        return grouping;
+    }
+
+    public LocalDateTime getSnapshotTakenAt() {
+        return snapshotTakenAt;
+    }
+
+    public int[] getBookingCurveDays() {
+        return bookingCurveDays;
+    }
+
+    public List<AnalyticsReportRow> getRows() {
+        return rows;
+    }
+}
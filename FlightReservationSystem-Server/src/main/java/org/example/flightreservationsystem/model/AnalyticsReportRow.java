@@ -0,0 +1,106 @@
+package org.example.flightreservationsystem.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class AnalyticsReportRow {
+    private Integer departureCityId;
+    private Integer arrivalCityId;
+    private LocalDate day;
+    private Integer flightId;
+    private String flightCode;
+    private int flights;
+    private long seatCapacity;
+    private long seatsSold;
+    private BigDecimal revenue;
+    private BigDecimal loadFactor;
+    private long[] seatsSoldByDaysOut;
+
+    public Integer getDepartureCityId() {
+        return departureCityId;
+    }
+
+    public void setDepartureCityId(Integer departureCityId) {
+        this.departureCityId = departureCityId;
+    }
+
+    public Integer getArrivalCityId() {
+        return arrivalCityId;
+    }
+
+    public void setArrivalCityId(Integer arrivalCityId) {
+        this.arrivalCityId = arrivalCityId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Integer getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Integer flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getFlightCode() {
+        return flightCode;
+    }
+
+    public void setFlightCode(String flightCode) {
+        this.flightCode = flightCode;
+    }
+
+    public int getFlights() {
+        return flights;
+    }
+
+    public void setFlights(int flights) {
+        this.flights = flights;
+    }
+
+    public long getSeatCapacity() {
+        return seatCapacity;
+    }
+
+    public void setSeatCapacity(long seatCapacity) {
+        this.seatCapacity = seatCapacity;
+    }
+
+    public long getSeatsSold() {
+        return seatsSold;
+    }
+
+    public void setSeatsSold(long seatsSold) {
+        this.seatsSold = seatsSold;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public BigDecimal getLoadFactor() {
+        return loadFactor;
+    }
+
+    public void setLoadFactor(BigDecimal loadFactor) {
+        this.loadFactor = loadFactor;
+    }
+
+    public long[] getSeatsSoldByDaysOut() {
+        return seatsSoldByDaysOut;
+    }
+
+    public void setSeatsSoldByDaysOut(long[] seatsSoldByDaysOut) {
+        this.seatsSoldByDaysOut = seatsSoldByDaysOut;
+    }
+}
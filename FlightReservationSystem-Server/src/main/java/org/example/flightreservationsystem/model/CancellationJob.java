@@ -0,0 +1,91 @@
+package org.example.flightreservationsystem.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class CancellationJob {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final Integer flightId;
+    private final LocalDateTime submittedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile int totalReservations;
+    private volatile int cancelledReservations;
+    private volatile int seatsReleased;
+    private volatile BigDecimal refundedAmount = BigDecimal.ZERO;
+    private volatile String message;
+    private volatile LocalDateTime completedAt;
+
+    public CancellationJob(String jobId, Integer flightId) {
+        this.jobId = jobId;
+        this.flightId = flightId;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public void recordBatch(int reservations, int seats, BigDecimal refund) {
+        cancelledReservations += reservations;
+        seatsReleased += seats;
+        refundedAmount = refundedAmount.add(refund);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Integer getFlightId() {
+        return flightId;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getTotalReservations() {
+        return totalReservations;
+    }
+
+    public void setTotalReservations(int totalReservations) {
+        this.totalReservations = totalReservations;
+    }
+
+    public int getCancelledReservations() {
+        return cancelledReservations;
+    }
+
+    public int getSeatsReleased() {
+        return seatsReleased;
+    }
+
+    public BigDecimal getRefundedAmount() {
+        return refundedAmount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -3,7 +3,8 @@ package org.example.flightreservationsystem.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "cities")
+@Table(name = "cities", uniqueConstraints = @UniqueConstraint(
+        name = "UK_CITY_NAME_COUNTRY", columnNames = {"CITY_NAME", "COUNTRY"}))
 public class CityDTO {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,61 @@
+package org.example.flightreservationsystem.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class CitySnapshot {
+    private final String version;
+    private final List<CityDTO> cities;
+    private final String[] sortedNames;
+
+    public CitySnapshot(List<CityDTO> cities) {
+        List<CityDTO> sorted = new ArrayList<>(cities);
+        sorted.sort(Comparator.comparing(city -> normalize(city.getCityName())));
+
+        CRC32 crc = new CRC32();
+        String[] names = new String[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            CityDTO city = sorted.get(i);
+            names[i] = normalize(city.getCityName());
+            crc.update((city.getId() + "|" + city.getCityName() + "|" + city.getCountry() + "\n").getBytes(UTF_8));
+        }
+
+        this.cities = Collections.unmodifiableList(sorted);
+        this.sortedNames = names;
+        this.version = Long.toHexString(crc.getValue()) + "-" + sorted.size();
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<CityDTO> getCities() {
+        return cities;
+    }
+
+    public List<CityDTO> findByPrefix(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        int index = Arrays.binarySearch(sortedNames, normalized);
+        if (index < 0) {
+            index = -index - 1;
+        }
+
+        List<CityDTO> result = new ArrayList<>();
+        while (index < sortedNames.length && result.size() < limit && sortedNames[index].startsWith(normalized)) {
+            result.add(cities.get(index++));
+        }
+        return result;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+}
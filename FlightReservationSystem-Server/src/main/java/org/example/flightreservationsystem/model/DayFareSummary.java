@@ -0,0 +1,35 @@
+package org.example.flightreservationsystem.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DayFareSummary {
+    private final LocalDate day;
+    private final int flightCount;
+    private final int availableSeats;
+    private final BigDecimal lowestFare;
+
+    public DayFareSummary(LocalDate day, int flightCount, int availableSeats, BigDecimal lowestFare) {
+        this.day = day;
+        this.flightCount = flightCount;
+        this.availableSeats = availableSeats;
+        this.lowestFare = lowestFare;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public int getFlightCount() {
+        return flightCount;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public BigDecimal getLowestFare() {
+        return lowestFare;
+    }
+
+}
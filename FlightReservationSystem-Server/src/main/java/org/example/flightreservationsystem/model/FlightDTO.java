@@ -6,7 +6,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "flights")
+@Table(name = "flights",
+        uniqueConstraints = @UniqueConstraint(
+                name = "UK_FLIGHT_CODE_DEPARTURE", columnNames = {"FLIGHT_CODE", "DEPARTURE_DATETIME"}),
+        indexes = {
+                @Index(name = "IDX_FLIGHT_DEPARTURE", columnList = "DEPARTURE_DATETIME"),
+                @Index(name = "IDX_FLIGHT_ROUTE_DEPARTURE",
+                        columnList = "DEPARTURE_CITY_ID, ARRIVAL_CITY_ID, DEPARTURE_DATETIME")
+        })
 public class FlightDTO {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,12 +1,19 @@
 package org.example.flightreservationsystem.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations",
+        uniqueConstraints = @UniqueConstraint(name = "UK_RESERVATION_CODE", columnNames = "RESERVATION_CODE"),
+        indexes = {
+                @Index(name = "IDX_RESERVATION_EMAIL_DATE", columnList = "PASSENGER_EMAIL, RESERVATION_DATE"),
+                @Index(name = "IDX_RESERVATION_FLIGHT_CANCELLED", columnList = "FLIGHT_ID, CANCELLED_AT")
+        })
+@SQLRestriction("CANCELLED_AT IS NULL")
 public class ReservationDTO {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +45,12 @@ public class ReservationDTO {
     @JoinColumn(name = "FLIGHT_ID", nullable = false)
     private FlightDTO flight;
 
+    @Column(name = "CANCELLED_AT")
+    private LocalDateTime cancelledAt;
+
+    @Column(name = "SEAT_NUMBERS", length = 500)
+    private String seatNumbers;
+
     public Integer getId() {
         return id;
     }
@@ -110,4 +123,20 @@ public class ReservationDTO {
         this.flight = flight;
     }
 
+    public LocalDateTime getCancelledAt() {
+        return cancelledAt;
+    }
+
+    public void setCancelledAt(LocalDateTime cancelledAt) {
+        this.cancelledAt = cancelledAt;
+    }
+
+    public String getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(String seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package org.example.flightreservationsystem.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RouteDaySummary {
+    private final Integer departureCityId;
+    private final CityDTO arrivalCity;
+    private final LocalDate day;
+    private final int flightCount;
+    private final int availableSeats;
+    private final BigDecimal minPrice;
+
+    public RouteDaySummary(Integer departureCityId, CityDTO arrivalCity, LocalDate day,
+                           int flightCount, int availableSeats, BigDecimal minPrice) {
+        this.departureCityId = departureCityId;
+        this.arrivalCity = arrivalCity;
+        this.day = day;
+        this.flightCount = flightCount;
+        this.availableSeats = availableSeats;
+        this.minPrice = minPrice;
+    }
+
+    public Integer getDepartureCityId() {
+        return departureCityId;
+    }
+
+    public CityDTO getArrivalCity() {
+        return arrivalCity;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public int getFlightCount() {
+        return flightCount;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.example.flightreservationsystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "seat_maps")
+public class SeatMapDTO {
+    @Id
+    @Column(name = "FLIGHT_ID", nullable = false)
+    private Integer flightId;
+
+    @Column(name = "CAPACITY", nullable = false)
+    private Integer capacity;
+
+    @Column(name = "SEATS_PER_ROW", nullable = false)
+    private Integer seatsPerRow;
+
+    @Column(name = "OCCUPIED", nullable = false, length = 2048)
+    private byte[] occupied;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Integer getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Integer flightId) {
+        this.flightId = flightId;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public void setSeatsPerRow(Integer seatsPerRow) {
+        this.seatsPerRow = seatsPerRow;
+    }
+
+    public byte[] getOccupied() {
+        return occupied;
+    }
+
+    public void setOccupied(byte[] occupied) {
+        this.occupied = occupied;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
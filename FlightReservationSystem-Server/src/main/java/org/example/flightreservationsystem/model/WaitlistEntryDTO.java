@@ -0,0 +1,136 @@
+package org.example.flightreservationsystem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries",
+        indexes = @Index(name = "IDX_WAITLIST_FLIGHT_STATUS", columnList = "FLIGHT_ID, STATUS"))
+public class WaitlistEntryDTO {
+    public enum Status { WAITING, PROMOTED, CANCELLED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "WAITLIST_ID", nullable = false)
+    private Integer id;
+
+    @Column(name = "FLIGHT_ID", nullable = false)
+    private Integer flightId;
+
+    @Column(name = "PASSENGER_FIRSTNAME", nullable = false, length = 100)
+    private String passengerFirstname;
+
+    @Column(name = "PASSENGER_LASTNAME", nullable = false, length = 100)
+    private String passengerLastname;
+
+    @Column(name = "PASSENGER_EMAIL", nullable = false, length = 100)
+    private String passengerEmail;
+
+    @Column(name = "SEATS_REQUESTED", nullable = false)
+    private Integer seatsRequested;
+
+    @Column(name = "PRIORITY", nullable = false)
+    private Integer priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "JOINED_AT", nullable = false)
+    private LocalDateTime joinedAt;
+
+    @Column(name = "RESOLVED_AT")
+    private LocalDateTime resolvedAt;
+
+    @Column(name = "RESERVATION_CODE", length = 20)
+    private String reservationCode;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Integer getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Integer flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getPassengerFirstname() {
+        return passengerFirstname;
+    }
+
+    public void setPassengerFirstname(String passengerFirstname) {
+        this.passengerFirstname = passengerFirstname;
+    }
+
+    public String getPassengerLastname() {
+        return passengerLastname;
+    }
+
+    public void setPassengerLastname(String passengerLastname) {
+        this.passengerLastname = passengerLastname;
+    }
+
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    public void setPassengerEmail(String passengerEmail) {
+        this.passengerEmail = passengerEmail;
+    }
+
+    public Integer getSeatsRequested() {
+        return seatsRequested;
+    }
+
+    public void setSeatsRequested(Integer seatsRequested) {
+        this.seatsRequested = seatsRequested;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    public String getReservationCode() {
+        return reservationCode;
+    }
+
+    public void setReservationCode(String reservationCode) {
+        this.reservationCode = reservationCode;
+    }
+}
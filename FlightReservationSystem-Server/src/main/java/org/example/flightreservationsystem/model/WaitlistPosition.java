@@ -0,0 +1,25 @@
+package org.example.flightreservationsystem.model;
+
+public class WaitlistPosition {
+    private final WaitlistEntryDTO entry;
+    private final Integer position;
+    private final Integer seatsAhead;
+
+    public WaitlistPosition(WaitlistEntryDTO entry, Integer position, Integer seatsAhead) {
+        this.entry = entry;
+        this.position = position;
+        this.seatsAhead = seatsAhead;
+    }
+
+    public WaitlistEntryDTO getEntry() {
+        return entry;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public Integer getSeatsAhead() {
+        return seatsAhead;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.flightreservationsystem.pricing;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+
+public class DaysToDepartureFareRule extends StepFareRule {
+
+    public DaysToDepartureFareRule(long[] dayThresholds, int[] multipliers) {
+        super(dayThresholds, multipliers);
+    }
+
+    @Override
+    protected long metric(FlightDTO flight, long daysToDeparture) {
+        return daysToDeparture;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.flightreservationsystem.pricing;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+
+public interface FareRule {
+    int BASIS_POINTS = 10_000;
+
+    int bucketOf(FlightDTO flight, long daysToDeparture);
+    int multiplierBasisPoints(int bucket);
+}
@@ -0,0 +1,19 @@
+package org.example.flightreservationsystem.pricing;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+
+public class LoadFactorFareRule extends StepFareRule {
+
+    public LoadFactorFareRule(long[] occupiedPercentThresholds, int[] multipliers) {
+        super(occupiedPercentThresholds, multipliers);
+    }
+
+    @Override
+    protected long metric(FlightDTO flight, long daysToDeparture) {
+        int totalSeats = flight.getTotalSeats();
+        if (totalSeats <= 0) {
+            return 100;
+        }
+        return (long) (totalSeats - flight.getAvailableSeats()) * 100 / totalSeats;
+    }
+}
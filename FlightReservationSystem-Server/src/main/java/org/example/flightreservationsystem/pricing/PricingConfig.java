@@ -0,0 +1,26 @@
+package org.example.flightreservationsystem.pricing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+@Configuration
+public class PricingConfig {
+
+    @Bean
+    @Order(1)
+    public FareRule loadFactorFareRule(
+            @Value("${pricing.load-factor.thresholds:0,50,75,90}") long[] thresholds,
+            @Value("${pricing.load-factor.multipliers:9000,10000,12000,15000}") int[] multipliers) {
+        return new LoadFactorFareRule(thresholds, multipliers);
+    }
+
+    @Bean
+    @Order(2)
+    public FareRule daysToDepartureFareRule(
+            @Value("${pricing.days-to-departure.thresholds:0,3,7,21}") long[] thresholds,
+            @Value("${pricing.days-to-departure.multipliers:15000,12500,11000,10000}") int[] multipliers) {
+        return new DaysToDepartureFareRule(thresholds, multipliers);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.flightreservationsystem.pricing;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quotes fares from per-flight ladders: for the current day, the flight's base price, capacity and
+ * departure date, a ladder lists the seat counts at which the bucket of any rule changes together
+ * with the fare of each step, so a quote is a lookup by available seats and only a new day or a
+ * changed flight runs the rules again. Rules may therefore only depend on the flight's seats and
+ * departure date.
+ */
+@Service
+public class PricingEngine {
+    private static final int BUCKET_BITS = 8;
+
+    private final List<FareRule> rules;
+    private final Map<Integer, FareLadder> ladders = new ConcurrentHashMap<>();
+
+    public PricingEngine(List<FareRule> rules) {
+        if (rules.size() * BUCKET_BITS > Long.SIZE) {
+            throw new IllegalStateException("Too many fare rules: " + rules.size());
+        }
+        this.rules = List.copyOf(rules);
+    }
+
+    public BigDecimal getFare(FlightDTO flight) {
+        return BigDecimal.valueOf(fareCents(flight), 2);
+    }
+
+    public BigDecimal getTotalPrice(FlightDTO flight, int seats) {
+        return BigDecimal.valueOf(Math.multiplyExact(fareCents(flight), seats), 2);
+    }
+
+    public long fareCents(FlightDTO flight) {
+        long baseCents = flight.getBasePrice().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        LocalDate today = LocalDate.now();
+        LocalDate departureDay = flight.getDepartureDatetime().toLocalDate();
+        int totalSeats = flight.getTotalSeats();
+        int availableSeats = flight.getAvailableSeats();
+
+        if (flight.getId() == null || totalSeats <= 0 || availableSeats < 0 || availableSeats > totalSeats) {
+            long daysToDeparture = Math.max(0, ChronoUnit.DAYS.between(today, departureDay));
+            return computeFare(baseCents, signature(flight, daysToDeparture));
+        }
+
+        FareLadder ladder = ladders.get(flight.getId());
+        if (ladder == null || !ladder.matches(today, baseCents, totalSeats, departureDay)) {
+            ladder = buildLadder(flight, today, baseCents, totalSeats, departureDay);
+            ladders.put(flight.getId(), ladder);
+        }
+        return ladder.fareCents(availableSeats);
+    }
+
+    public void evict(Collection<Integer> flightIds) {
+        flightIds.forEach(ladders::remove);
+    }
+
+    private FareLadder buildLadder(FlightDTO flight, LocalDate today, long baseCents, int totalSeats,
+                                   LocalDate departureDay) {
+        long daysToDeparture = Math.max(0, ChronoUnit.DAYS.between(today, departureDay));
+        FlightDTO view = new FlightDTO();
+        view.setId(flight.getId());
+        view.setDepartureDatetime(flight.getDepartureDatetime());
+        view.setTotalSeats(totalSeats);
+        view.setBasePrice(flight.getBasePrice());
+
+        int[] fromSeats = new int[totalSeats + 1];
+        long[] fares = new long[totalSeats + 1];
+        int steps = 0;
+        long previousSignature = -1;
+        for (int seats = 0; seats <= totalSeats; seats++) {
+            view.setAvailableSeats(seats);
+            long signature = signature(view, daysToDeparture);
+            if (steps == 0 || signature != previousSignature) {
+                fromSeats[steps] = seats;
+                fares[steps] = computeFare(baseCents, signature);
+                steps++;
+                previousSignature = signature;
+            }
+        }
+        return new FareLadder(today, baseCents, totalSeats, departureDay,
+                Arrays.copyOf(fromSeats, steps), Arrays.copyOf(fares, steps));
+    }
+
+    private long signature(FlightDTO flight, long daysToDeparture) {
+        long signature = 0;
+        for (FareRule rule : rules) {
+            signature = (signature << BUCKET_BITS) | rule.bucketOf(flight, daysToDeparture);
+        }
+        return signature;
+    }
+
+    private long computeFare(long baseCents, long signature) {
+        long fare = baseCents;
+        for (int i = rules.size() - 1; i >= 0; i--) {
+            int bucket = (int) (signature & ((1 << BUCKET_BITS) - 1));
+            signature >>>= BUCKET_BITS;
+            fare = (fare * rules.get(i).multiplierBasisPoints(bucket) + FareRule.BASIS_POINTS / 2) / FareRule.BASIS_POINTS;
+        }
+        return fare;
+    }
+
+    /**
+     * {@code fares[i]} applies from {@code fromSeats[i]} available seats up to the next step.
+     */
+    private record FareLadder(LocalDate day, long baseCents, int totalSeats, LocalDate departureDay,
+                              int[] fromSeats, long[] fares) {
+        private boolean matches(LocalDate today, long baseCents, int totalSeats, LocalDate departureDay) {
+            return day.equals(today) && this.baseCents == baseCents && this.totalSeats == totalSeats
+                    && this.departureDay.equals(departureDay);
+        }
+
+        private long fareCents(int availableSeats) {
+            int step = fromSeats.length - 1;
+            while (fromSeats[step] > availableSeats) {
+                step--;
+            }
+            return fares[step];
+        }
+    }
+}
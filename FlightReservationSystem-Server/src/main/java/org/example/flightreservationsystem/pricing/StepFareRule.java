@@ -0,0 +1,38 @@
+package org.example.flightreservationsystem.pricing;
+
+import org.example.flightreservationsystem.model.FlightDTO;
+
+public abstract class StepFareRule implements FareRule {
+    private final long[] thresholds;
+    private final int[] multipliers;
+
+    protected StepFareRule(long[] thresholds, int[] multipliers) {
+        if (thresholds.length == 0 || thresholds.length != multipliers.length) {
+            throw new IllegalArgumentException("Fare rule needs one multiplier per threshold");
+        }
+        for (int i = 1; i < thresholds.length; i++) {
+            if (thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Fare rule thresholds must be strictly increasing");
+            }
+        }
+        this.thresholds = thresholds.clone();
+        this.multipliers = multipliers.clone();
+    }
+
+    protected abstract long metric(FlightDTO flight, long daysToDeparture);
+
+    @Override
+    public int bucketOf(FlightDTO flight, long daysToDeparture) {
+        long value = metric(flight, daysToDeparture);
+        int bucket = 0;
+        while (bucket + 1 < thresholds.length && value >= thresholds[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    @Override
+    public int multiplierBasisPoints(int bucket) {
+        return multipliers[bucket];
+    }
+}
@@ -1,14 +1,29 @@
 package org.example.flightreservationsystem.repository;
 
 import org.example.flightreservationsystem.model.FlightDTO;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface FlightRepository extends JpaRepository<FlightDTO, Integer> {
+    @Override
+    @EntityGraph(attributePaths = {"departureCity", "arrivalCity"})
+    List<FlightDTO> findAll();
+
+    @EntityGraph(attributePaths = {"departureCity", "arrivalCity"})
+    List<FlightDTO> findByDepartureDatetimeGreaterThanEqual(LocalDateTime departureDatetime);
+
+    @Query("SELECT f.availableSeats FROM FlightDTO f WHERE f.id = :flightId")
+    Integer findAvailableSeatsById(@Param("flightId") Integer flightId);
+
     @Query("SELECT f FROM FlightDTO f WHERE " +
             "f.departureCity.cityName = :departureCity AND " +
             "f.arrivalCity.cityName = :arrivalCity AND " +
@@ -18,5 +33,16 @@ public interface FlightRepository extends JpaRepository<FlightDTO, Integer> {
 
     List<FlightDTO> findByDepartureCityIdAndArrivalCityId(Integer departureCityId, Integer arrivalCityId);
 
+    @EntityGraph(attributePaths = {"departureCity", "arrivalCity"})
+    @QueryHints(@QueryHint(name = "jakarta.persistence.query.timeout", value = "2000"))
     List<FlightDTO> findByDepartureCityIdAndArrivalCityIdAndDepartureDatetimeBetween(Integer departureCityId, Integer arrivalCityId, LocalDateTime departureDate, LocalDateTime returnDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FlightDTO f SET f.availableSeats = f.availableSeats - :seats " +
+            "WHERE f.id = :flightId AND f.availableSeats >= :seats")
+    int reserveSeats(@Param("flightId") Integer flightId, @Param("seats") Integer seats);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FlightDTO f SET f.availableSeats = f.availableSeats + :seats WHERE f.id = :flightId")
+    int releaseSeats(@Param("flightId") Integer flightId, @Param("seats") Integer seats);
 }
\ No newline at end of file
@@ -1,9 +1,27 @@
 package org.example.flightreservationsystem.repository;
 
 import org.example.flightreservationsystem.model.ReservationDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 
 public interface ReservationRepository extends JpaRepository<ReservationDTO, Integer> {
+    @EntityGraph(attributePaths = {"flight", "flight.departureCity", "flight.arrivalCity"})
     ReservationDTO findByReservationCode(String reservationCode);
     boolean existsByReservationCode(String reservationCode);
+    @EntityGraph(attributePaths = {"flight", "flight.departureCity", "flight.arrivalCity"})
+    Page<ReservationDTO> findByPassengerEmailOrderByReservationDateDesc(String passengerEmail, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ReservationDTO r SET r.cancelledAt = :cancelledAt WHERE r.id = :id AND r.cancelledAt IS NULL")
+    int markCancelled(@Param("id") Integer id, @Param("cancelledAt") LocalDateTime cancelledAt);
+
+    @Query("SELECT r.flight.id FROM ReservationDTO r WHERE r.reservationCode = :reservationCode")
+    Integer findFlightIdByReservationCode(@Param("reservationCode") String reservationCode);
 }
\ No newline at end of file
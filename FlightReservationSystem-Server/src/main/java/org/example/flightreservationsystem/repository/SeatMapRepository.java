@@ -0,0 +1,8 @@
+package org.example.flightreservationsystem.repository;
+
+import org.example.flightreservationsystem.model.SeatMapDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SeatMapRepository extends JpaRepository<SeatMapDTO, Integer> {
+
+}
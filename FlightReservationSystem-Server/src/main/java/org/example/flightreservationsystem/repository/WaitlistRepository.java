@@ -0,0 +1,35 @@
+package org.example.flightreservationsystem.repository;
+
+import org.example.flightreservationsystem.model.WaitlistEntryDTO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntryDTO, Integer> {
+    List<WaitlistEntryDTO> findByStatus(WaitlistEntryDTO.Status status);
+    List<WaitlistEntryDTO> findByFlightIdAndStatus(Integer flightId, WaitlistEntryDTO.Status status);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntryDTO w SET w.status = :to, w.resolvedAt = :resolvedAt " +
+            "WHERE w.flightId = :flightId AND w.status = :from")
+    int updateStatus(@Param("flightId") Integer flightId,
+                     @Param("from") WaitlistEntryDTO.Status from,
+                     @Param("to") WaitlistEntryDTO.Status to,
+                     @Param("resolvedAt") LocalDateTime resolvedAt);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntryDTO w SET w.status = :status, w.reservationCode = :reservationCode, " +
+            "w.resolvedAt = :resolvedAt WHERE w.id = :id AND w.status = :from")
+    int resolve(@Param("id") Integer id,
+                @Param("from") WaitlistEntryDTO.Status from,
+                @Param("status") WaitlistEntryDTO.Status status,
+                @Param("reservationCode") String reservationCode,
+                @Param("resolvedAt") LocalDateTime resolvedAt);
+
+    @Query("SELECT w.flightId FROM WaitlistEntryDTO w WHERE w.id = :id")
+    Integer findFlightIdById(@Param("id") Integer id);
+}
@@ -0,0 +1,50 @@
+package org.example.flightreservationsystem.runner;
+
+import org.example.flightreservationsystem.service.CityService;
+import org.example.flightreservationsystem.service.RouteSummaryService;
+import org.example.flightreservationsystem.service.ScheduleImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Component
+public class ScheduleImportRunner implements ApplicationRunner {
+
+    private final ScheduleImportService scheduleImportService;
+    private final RouteSummaryService routeSummaryService;
+    private final CityService cityService;
+    private final String citiesFile;
+    private final String flightsFile;
+
+    public ScheduleImportRunner(@Lazy ScheduleImportService scheduleImportService,
+                                RouteSummaryService routeSummaryService,
+                                CityService cityService,
+                                @Value("${schedule.import.cities:}") String citiesFile,
+                                @Value("${schedule.import.flights:}") String flightsFile) {
+        this.scheduleImportService = scheduleImportService;
+        this.routeSummaryService = routeSummaryService;
+        this.cityService = cityService;
+        this.citiesFile = citiesFile;
+        this.flightsFile = flightsFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (citiesFile.isBlank() && flightsFile.isBlank()) {
+            return;
+        }
+
+        if (!citiesFile.isBlank()) {
+            scheduleImportService.importCities(Path.of(citiesFile));
+            cityService.refreshCities();
+        }
+        if (!flightsFile.isBlank()) {
+            scheduleImportService.importFlights(Path.of(flightsFile));
+        }
+        routeSummaryService.rebuild();
+    }
+}
@@ -0,0 +1,245 @@
+package org.example.flightreservationsystem.seatmap;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class SeatMap {
+    static final String SEAT_LETTERS = "ABCDEFGHJK";
+    public static final int MAX_SEATS_PER_ROW = SEAT_LETTERS.length();
+
+    private final int capacity;
+    private final int seatsPerRow;
+    private final int rows;
+    private final int rowsPerWord;
+    private final long[] blockStartMasks;
+    private final AtomicLongArray words;
+
+    public SeatMap(int capacity, int seatsPerRow) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Seat map capacity must be positive");
+        }
+        if (seatsPerRow <= 0 || seatsPerRow > MAX_SEATS_PER_ROW) {
+            throw new IllegalArgumentException("Seats per row must be between 1 and " + MAX_SEATS_PER_ROW);
+        }
+        this.capacity = capacity;
+        this.seatsPerRow = seatsPerRow;
+        this.rows = (capacity + seatsPerRow - 1) / seatsPerRow;
+        this.rowsPerWord = Long.SIZE / seatsPerRow;
+        this.words = new AtomicLongArray((rows + rowsPerWord - 1) / rowsPerWord);
+        this.blockStartMasks = new long[seatsPerRow + 1];
+        for (int count = 1; count <= seatsPerRow; count++) {
+            long starts = (1L << (seatsPerRow - count + 1)) - 1;
+            for (int row = 0; row < rowsPerWord; row++) {
+                blockStartMasks[count] |= starts << (row * seatsPerRow);
+            }
+        }
+        for (int word = 0; word < words.length(); word++) {
+            words.set(word, unusableBits(word));
+        }
+    }
+
+    public static SeatMap fromBytes(int capacity, int seatsPerRow, byte[] occupied) {
+        SeatMap seatMap = new SeatMap(capacity, seatsPerRow);
+        ByteBuffer buffer = ByteBuffer.wrap(occupied);
+        for (int word = 0; word < seatMap.words.length() && buffer.remaining() >= Long.BYTES; word++) {
+            seatMap.words.set(word, buffer.getLong() | seatMap.unusableBits(word));
+        }
+        return seatMap;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES);
+        for (int word = 0; word < words.length(); word++) {
+            buffer.putLong(words.get(word));
+        }
+        return buffer.array();
+    }
+
+    public int[] allocate(int count) {
+        if (count <= 0 || count > capacity) {
+            return null;
+        }
+        if (count <= seatsPerRow) {
+            int[] block = allocateBlock(count);
+            if (block != null) {
+                return block;
+            }
+        }
+        int[] seats = new int[count];
+        for (int i = 0; i < count; i++) {
+            int seat = allocateFirstFree();
+            if (seat < 0) {
+                release(Arrays.copyOf(seats, i));
+                return null;
+            }
+            seats[i] = seat;
+        }
+        return seats;
+    }
+
+    public boolean allocate(int[] seats) {
+        for (int i = 0; i < seats.length; i++) {
+            if (seats[i] < 0 || seats[i] >= capacity) {
+                throw new IllegalArgumentException("Seat " + seats[i] + " is outside the seat map");
+            }
+            int word = wordOf(seats[i]);
+            long mask = 1L << bitOf(seats[i]);
+            while (true) {
+                long current = words.get(word);
+                if ((current & mask) != 0) {
+                    release(Arrays.copyOf(seats, i));
+                    return false;
+                }
+                if (words.compareAndSet(word, current, current | mask)) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void occupy(int[] seats) {
+        for (int seat : seats) {
+            int word = wordOf(seat);
+            long mask = 1L << bitOf(seat);
+            long current;
+            do {
+                current = words.get(word);
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public void release(int[] seats) {
+        for (int seat : seats) {
+            int word = wordOf(seat);
+            long mask = 1L << bitOf(seat);
+            long current;
+            do {
+                current = words.get(word);
+            } while (!words.compareAndSet(word, current, current & ~mask));
+        }
+    }
+
+    public boolean isOccupied(int seat) {
+        return (words.get(wordOf(seat)) & (1L << bitOf(seat))) != 0;
+    }
+
+    public int getFreeSeats() {
+        int free = 0;
+        for (int word = 0; word < words.length(); word++) {
+            free += Long.bitCount(~words.get(word));
+        }
+        return free;
+    }
+
+    public String label(int seat) {
+        return (seat / seatsPerRow + 1) + String.valueOf(SEAT_LETTERS.charAt(seat % seatsPerRow));
+    }
+
+    public int parse(String label) {
+        String normalized = label.trim().toUpperCase(Locale.ROOT);
+        if (normalized.length() < 2) {
+            throw new IllegalArgumentException("Invalid seat: " + label);
+        }
+        int column = SEAT_LETTERS.indexOf(normalized.charAt(normalized.length() - 1));
+        int row;
+        try {
+            row = Integer.parseInt(normalized.substring(0, normalized.length() - 1)) - 1;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid seat: " + label);
+        }
+        int seat = row * seatsPerRow + column;
+        if (column < 0 || column >= seatsPerRow || row < 0 || seat >= capacity) {
+            throw new IllegalArgumentException("Invalid seat: " + label);
+        }
+        return seat;
+    }
+
+    public int getOccupiedSeats() {
+        return capacity - getFreeSeats();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSeatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public String getSeatLetters() {
+        return SEAT_LETTERS.substring(0, seatsPerRow);
+    }
+
+    private int[] allocateBlock(int count) {
+        long blockMask = (1L << count) - 1;
+        for (int word = 0; word < words.length(); word++) {
+            while (true) {
+                long current = words.get(word);
+                long free = ~current;
+                long starts = free & blockStartMasks[count];
+                for (int i = 1; i < count && starts != 0; i++) {
+                    starts &= free >>> i;
+                }
+                if (starts == 0) {
+                    break;
+                }
+                int start = Long.numberOfTrailingZeros(starts);
+                if (words.compareAndSet(word, current, current | (blockMask << start))) {
+                    int[] seats = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        seats[i] = seatOf(word, start + i);
+                    }
+                    return seats;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int allocateFirstFree() {
+        for (int word = 0; word < words.length(); word++) {
+            while (true) {
+                long current = words.get(word);
+                long free = ~current;
+                if (free == 0) {
+                    break;
+                }
+                long lowest = Long.lowestOneBit(free);
+                if (words.compareAndSet(word, current, current | lowest)) {
+                    return seatOf(word, Long.numberOfTrailingZeros(lowest));
+                }
+            }
+        }
+        return -1;
+    }
+
+    private long unusableBits(int word) {
+        long unusable = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            int rowInWord = bit / seatsPerRow;
+            if (rowInWord >= rowsPerWord || seatOf(word, bit) >= capacity) {
+                unusable |= 1L << bit;
+            }
+        }
+        return unusable;
+    }
+
+    private int wordOf(int seat) {
+        return seat / seatsPerRow / rowsPerWord;
+    }
+
+    private int bitOf(int seat) {
+        return (seat / seatsPerRow % rowsPerWord) * seatsPerRow + seat % seatsPerRow;
+    }
+
+    private int seatOf(int word, int bit) {
+        return (word * rowsPerWord + bit / seatsPerRow) * seatsPerRow + bit % seatsPerRow;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.model.AnalyticsReport;
+
+import java.time.LocalDate;
+
+public interface AnalyticsService {
+    AnalyticsReport getReport(AnalyticsReport.Grouping grouping, LocalDate from, LocalDate to,
+                              Integer departureCityId, Integer arrivalCityId);
+    void refresh();
+}
@@ -0,0 +1,81 @@
+package org.example.flightreservationsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.analytics.AnalyticsAggregator;
+import org.example.flightreservationsystem.analytics.AnalyticsSnapshot;
+import org.example.flightreservationsystem.analytics.AnalyticsSnapshotLoader;
+import org.example.flightreservationsystem.model.AnalyticsReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+    private final AnalyticsSnapshotLoader snapshotLoader;
+    private final int maxRangeDays;
+    private final ForkJoinPool pool;
+
+    private volatile AnalyticsSnapshot snapshot;
+
+    public AnalyticsServiceImpl(AnalyticsSnapshotLoader snapshotLoader,
+                                @Value("${analytics.max-range-days:400}") int maxRangeDays,
+                                @Value("${analytics.parallelism:0}") int parallelism) {
+        this.snapshotLoader = snapshotLoader;
+        this.maxRangeDays = maxRangeDays;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("analytics-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    @Override
+    public AnalyticsReport getReport(AnalyticsReport.Grouping grouping, LocalDate from, LocalDate to,
+                                     Integer departureCityId, Integer arrivalCityId) {
+        if (grouping == null || from == null || to == null) {
+            throw new IllegalArgumentException("Grouping, from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("To date must not be before from date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("Reports can cover at most " + maxRangeDays + " days");
+        }
+
+        AnalyticsSnapshot current = snapshot != null ? snapshot : initialSnapshot();
+        return AnalyticsAggregator.aggregate(pool, current, grouping, from, to, departureCityId, arrivalCityId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.refresh-interval-ms:900000}",
+            initialDelayString = "${analytics.initial-delay-ms:60000}")
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        snapshot = snapshotLoader.load();
+        logger.info("Analytics snapshot refreshed: {} flights, {} reservations, ~{} KB in {} ms",
+                snapshot.getFlightCount(), snapshot.getReservationCount(), snapshot.estimatedBytes() / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized AnalyticsSnapshot initialSnapshot() {
+        if (snapshot == null) {
+            refresh();
+        }
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.model.CancellationJob;
+
+public interface CancellationService {
+    CancellationJob cancelFlightReservations(Integer flightId);
+    CancellationJob getJob(String jobId);
+}
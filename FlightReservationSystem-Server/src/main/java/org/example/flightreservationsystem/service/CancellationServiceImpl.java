@@ -0,0 +1,195 @@
+package org.example.flightreservationsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.event.ReservationChangedEvent;
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.journal.JournaledReservationWriter;
+import org.example.flightreservationsystem.model.CancellationJob;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class CancellationServiceImpl implements CancellationService {
+    private static final Logger logger = LoggerFactory.getLogger(CancellationServiceImpl.class);
+    private static final String COUNT_ACTIVE_SQL =
+            "SELECT COUNT(*) FROM reservations WHERE FLIGHT_ID = ? AND CANCELLED_AT IS NULL";
+    private static final String LOCK_BATCH_SQL =
+            "SELECT RESERVATION_ID, RESERVATION_CODE, PASSENGER_EMAIL, SEATS_RESERVED, TOTAL_PRICE, SEAT_NUMBERS " +
+            "FROM reservations WHERE FLIGHT_ID = ? AND CANCELLED_AT IS NULL ORDER BY RESERVATION_ID LIMIT ? FOR UPDATE";
+    private static final String CANCEL_BATCH_SQL =
+            "UPDATE reservations SET CANCELLED_AT = :cancelledAt WHERE RESERVATION_ID IN (:ids)";
+    private static final String RELEASE_SEATS_SQL =
+            "UPDATE flights SET AVAILABLE_SEATS = AVAILABLE_SEATS + ? WHERE FLIGHT_ID = ?";
+    private static final String AVAILABLE_SEATS_SQL =
+            "SELECT AVAILABLE_SEATS FROM flights WHERE FLIGHT_ID = ?";
+
+    private final FlightRepository flightRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JournaledReservationWriter journaledWriter;
+    private final SeatMapService seatMapService;
+    private final WaitlistService waitlistService;
+    private final int batchSize;
+    private final long jobRetentionMinutes;
+
+    private final Map<String, CancellationJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Integer, CancellationJob> activeJobsByFlight = new ConcurrentHashMap<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reservation-cancellation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CancellationServiceImpl(FlightRepository flightRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   NamedParameterJdbcTemplate namedJdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ObjectProvider<JournaledReservationWriter> journaledWriter,
+                                   SeatMapService seatMapService,
+                                   WaitlistService waitlistService,
+                                   @Value("${reservations.cancellation.batch-size:500}") int batchSize,
+                                   @Value("${reservations.cancellation.job-retention-minutes:60}") long jobRetentionMinutes) {
+        this.flightRepository = flightRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.journaledWriter = journaledWriter.getIfAvailable();
+        this.seatMapService = seatMapService;
+        this.waitlistService = waitlistService;
+        this.batchSize = batchSize;
+        this.jobRetentionMinutes = jobRetentionMinutes;
+    }
+
+    @Override
+    public CancellationJob cancelFlightReservations(Integer flightId) {
+        if (flightId == null) {
+            throw new IllegalArgumentException("Flight id cannot be null");
+        }
+        if (!flightRepository.existsById(flightId)) {
+            throw new RuntimeException("Flight not found with id: " + flightId);
+        }
+
+        pruneFinishedJobs();
+        return activeJobsByFlight.computeIfAbsent(flightId, id -> {
+            CancellationJob job = new CancellationJob(id + "-" + UUID.randomUUID(), id);
+            jobs.put(job.getJobId(), job);
+            worker.execute(() -> run(job));
+            return job;
+        });
+    }
+
+    @Override
+    public CancellationJob getJob(String jobId) {
+        CancellationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Cancellation job not found: " + jobId);
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void run(CancellationJob job) {
+        long start = System.nanoTime();
+        job.setStatus(CancellationJob.Status.RUNNING);
+        try {
+            waitlistService.closeWaitlist(job.getFlightId());
+            if (journaledWriter != null) {
+                journaledWriter.flush();
+            }
+            Integer total = jdbcTemplate.queryForObject(COUNT_ACTIVE_SQL, Integer.class, job.getFlightId());
+            job.setTotalReservations(total == null ? 0 : total);
+
+            BatchResult result;
+            do {
+                result = transactionTemplate.execute(status -> cancelBatch(job.getFlightId()));
+                job.recordBatch(result.reservations(), result.seats(), result.refund());
+            } while (result.reservations() == batchSize);
+
+            job.setStatus(CancellationJob.Status.COMPLETED);
+            logger.info("Cancelled {} reservations on flight {} ({} seats, {} refunded) in {} ms",
+                    job.getCancelledReservations(), job.getFlightId(), job.getSeatsReleased(),
+                    job.getRefundedAmount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            job.setStatus(CancellationJob.Status.FAILED);
+            job.setMessage(e.getMessage());
+            logger.error("Cancellation of flight {} reservations failed after {} of {}",
+                    job.getFlightId(), job.getCancelledReservations(), job.getTotalReservations(), e);
+        } finally {
+            job.setCompletedAt(LocalDateTime.now());
+            activeJobsByFlight.remove(job.getFlightId(), job);
+        }
+    }
+
+    private BatchResult cancelBatch(Integer flightId) {
+        List<CancelledReservation> batch = jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) -> new CancelledReservation(
+                rs.getInt("RESERVATION_ID"),
+                rs.getString("RESERVATION_CODE"),
+                rs.getString("PASSENGER_EMAIL"),
+                rs.getInt("SEATS_RESERVED"),
+                rs.getBigDecimal("TOTAL_PRICE"),
+                rs.getString("SEAT_NUMBERS")), flightId, batchSize);
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0, BigDecimal.ZERO);
+        }
+
+        int seats = 0;
+        BigDecimal refund = BigDecimal.ZERO;
+        for (CancelledReservation reservation : batch) {
+            seats += reservation.seats();
+            refund = refund.add(reservation.totalPrice());
+            seatMapService.releaseSeats(flightId, reservation.seatNumbers());
+        }
+
+        namedJdbcTemplate.update(CANCEL_BATCH_SQL, new MapSqlParameterSource()
+                .addValue("cancelledAt", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("ids", batch.stream().map(CancelledReservation::id).toList()));
+        jdbcTemplate.update(RELEASE_SEATS_SQL, seats, flightId);
+        Integer availableSeats = jdbcTemplate.queryForObject(AVAILABLE_SEATS_SQL, Integer.class, flightId);
+
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                flightId, availableSeats == null ? 0 : availableSeats, seats));
+        for (CancelledReservation reservation : batch) {
+            eventPublisher.publishEvent(new ReservationChangedEvent(reservation.code(), reservation.email()));
+        }
+        return new BatchResult(batch.size(), seats, refund);
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getCompletedAt() != null && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    private record CancelledReservation(int id, String code, String email, int seats, BigDecimal totalPrice,
+                                        String seatNumbers) {
+    }
+
+    private record BatchResult(int reservations, int seats, BigDecimal refund) {
+    }
+}
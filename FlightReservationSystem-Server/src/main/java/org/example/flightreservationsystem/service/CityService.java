@@ -1,9 +1,13 @@
 package org.example.flightreservationsystem.service;
 
 import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.CitySnapshot;
 
 import java.util.List;
 
 public interface CityService {
     CityDTO getCityById(Integer id);
-}
\ No newline at end of file
+    CitySnapshot getCitySnapshot();
+    List<CityDTO> findCitiesByPrefix(String prefix, int limit);
+    void refreshCities();
+}
@@ -1,25 +1,58 @@
 package org.example.flightreservationsystem.service;
 
 import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.CitySnapshot;
 import org.example.flightreservationsystem.repository.CityRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
-@Transactional
 public class CityServiceImpl implements CityService {
+    private static final int MAX_PREFIX_RESULTS = 50;
 
     private final CityRepository cityRepository;
 
+    private volatile CitySnapshot snapshot = new CitySnapshot(Collections.emptyList());
+
     public CityServiceImpl(CityRepository cityRepository) {
         this.cityRepository = cityRepository;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CityDTO getCityById(Integer id) {
         return cityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("City not found with id: " + id));
     }
-}
\ No newline at end of file
+
+    @Override
+    public CitySnapshot getCitySnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public List<CityDTO> findCitiesByPrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix cannot be null or empty");
+        }
+        return snapshot.findByPrefix(prefix, limit > 0 ? Math.min(limit, MAX_PREFIX_RESULTS) : MAX_PREFIX_RESULTS);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cities.cache.refresh-interval-ms:3600000}",
+            initialDelayString = "${cities.cache.refresh-interval-ms:3600000}")
+    public void refreshCities() {
+        CitySnapshot refreshed = new CitySnapshot(cityRepository.findAll());
+        if (!refreshed.getVersion().equals(snapshot.getVersion())) {
+            snapshot = refreshed;
+        }
+    }
+}
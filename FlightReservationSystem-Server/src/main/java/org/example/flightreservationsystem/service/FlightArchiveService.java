@@ -0,0 +1,150 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.journal.SeatLedger;
+import org.example.flightreservationsystem.pricing.PricingEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class FlightArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(FlightArchiveService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatMapService seatMapService;
+    private final WaitlistService waitlistService;
+    private final PricingEngine pricingEngine;
+    private final SeatLedger seatLedger;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchSize;
+
+    private volatile String flightColumns;
+    private volatile String reservationColumns;
+
+    public FlightArchiveService(JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedJdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                SeatMapService seatMapService,
+                                WaitlistService waitlistService,
+                                PricingEngine pricingEngine,
+                                ObjectProvider<SeatLedger> seatLedger,
+                                @Value("${flights.archive.enabled:true}") boolean enabled,
+                                @Value("${flights.archive.retention-days:1}") int retentionDays,
+                                @Value("${flights.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.seatMapService = seatMapService;
+        this.waitlistService = waitlistService;
+        this.pricingEngine = pricingEngine;
+        this.seatLedger = seatLedger.getIfAvailable();
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the archive tables and adds to them any column the live tables gained since they
+     * were created, so every archived row keeps all of its columns. Existing archive tables are
+     * brought up to date even while archiving is disabled, since reports read them too.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createArchiveTables() {
+        if (enabled) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS flights_archive LIKE flights");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS reservations_archive LIKE reservations");
+        }
+        String archivedFlightColumns = alignColumns("flights", "flights_archive");
+        String archivedReservationColumns = alignColumns("reservations", "reservations_archive");
+        if (enabled) {
+            flightColumns = archivedFlightColumns;
+            reservationColumns = archivedReservationColumns;
+        }
+    }
+
+    private String alignColumns(String table, String archiveTable) {
+        String sql = "SELECT COLUMN_NAME, COLUMN_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION";
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            columns.put(rs.getString(1), rs.getString(2));
+        }, table);
+        List<String> archiveColumns = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getString(1), archiveTable);
+        if (archiveColumns.isEmpty()) {
+            return null;
+        }
+
+        columns.forEach((column, type) -> {
+            if (!archiveColumns.contains(column)) {
+                logger.info("Adding column {} {} to {}", column, type, archiveTable);
+                jdbcTemplate.execute("ALTER TABLE " + archiveTable + " ADD COLUMN `" + column + "` " + type + " NULL");
+            }
+        });
+        return String.join(", ", columns.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${flights.archive.interval-ms:3600000}",
+            initialDelayString = "${flights.archive.interval-ms:3600000}")
+    public void archiveDepartedFlights() {
+        if (!enabled || flightColumns == null) {
+            return;
+        }
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+
+        if (archived > 0) {
+            logger.info("Archived {} flights departed before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        List<Integer> flightIds = jdbcTemplate.queryForList(
+                "SELECT FLIGHT_ID FROM flights WHERE DEPARTURE_DATETIME < ? ORDER BY DEPARTURE_DATETIME LIMIT ? FOR UPDATE",
+                Integer.class, cutoff, batchSize);
+        if (flightIds.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", flightIds);
+        namedJdbcTemplate.update("INSERT INTO reservations_archive (" + reservationColumns + ") " +
+                "SELECT " + reservationColumns + " FROM reservations WHERE FLIGHT_ID IN (:ids)", params);
+        namedJdbcTemplate.update("INSERT INTO flights_archive (" + flightColumns + ") " +
+                "SELECT " + flightColumns + " FROM flights WHERE FLIGHT_ID IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM reservations WHERE FLIGHT_ID IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM seat_maps WHERE FLIGHT_ID IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM seat_assignments WHERE FLIGHT_ID IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM waitlist_entries WHERE FLIGHT_ID IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM flights WHERE FLIGHT_ID IN (:ids)", params);
+        seatMapService.evict(flightIds);
+        waitlistService.evict(flightIds);
+        pricingEngine.evict(flightIds);
+        if (seatLedger != null) {
+            seatLedger.evict(flightIds);
+        }
+        return flightIds.size();
+    }
+}
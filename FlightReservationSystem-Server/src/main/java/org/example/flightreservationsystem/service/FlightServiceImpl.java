@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class FlightServiceImpl implements FlightService {
 
     private final FlightRepository flightRepository;
@@ -41,6 +41,7 @@ public class FlightServiceImpl implements FlightService {
     }
 
     @Override
+    @Transactional
     public void updateAvailableSeats(Integer flightId, Integer seatsReserved) {
         FlightDTO flight = getFlightById(flightId);
         int newAvailableSeats = flight.getAvailableSeats() - seatsReserved;
@@ -0,0 +1,8 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.manifest.ManifestExport;
+import org.example.flightreservationsystem.manifest.ManifestFormat;
+
+public interface ManifestService {
+    ManifestExport exportManifest(Integer flightId, ManifestFormat format);
+}
@@ -0,0 +1,95 @@
+package org.example.flightreservationsystem.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.manifest.ManifestExport;
+import org.example.flightreservationsystem.manifest.ManifestFormat;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Manifest exports read through their own read-only pool of {@code manifest.max-concurrent-exports}
+ * connections, since each export holds a connection for as long as the client takes to download
+ * it. Each export takes one of as many permits when it is created and returns it when its stream
+ * is closed, so exports beyond that limit are refused up front instead of queueing request threads.
+ * A watchdog returns the permit of an export whose stream is not opened within
+ * {@code manifest.open-timeout-ms} and closes a stream that is not read for {@code manifest.idle-timeout-ms}.
+ */
+@Service
+public class ManifestServiceImpl implements ManifestService {
+    private static final String TOTALS_SQL =
+            "SELECT COUNT(*), COALESCE(SUM(SEATS_RESERVED), 0) FROM reservations WHERE FLIGHT_ID = ? AND CANCELLED_AT IS NULL";
+
+    private final FlightRepository flightRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HikariDataSource dataSource;
+    private final Semaphore exportPermits;
+    private final long openTimeoutMs;
+    private final long idleTimeoutMs;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "manifest-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ManifestServiceImpl(FlightRepository flightRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${manifest.datasource.url:${spring.datasource.url}}") String url,
+                               @Value("${manifest.datasource.username:${spring.datasource.username}}") String username,
+                               @Value("${manifest.datasource.password:${spring.datasource.password}}") String password,
+                               @Value("${manifest.max-concurrent-exports:4}") int maxConcurrentExports,
+                               @Value("${manifest.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+                               @Value("${manifest.open-timeout-ms:30000}") long openTimeoutMs,
+                               @Value("${manifest.idle-timeout-ms:60000}") long idleTimeoutMs) {
+        this.flightRepository = flightRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+        this.openTimeoutMs = openTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+
+        this.dataSource = new HikariDataSource();
+        dataSource.setPoolName("manifest");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maxConcurrentExports);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(acquireTimeoutMs);
+        dataSource.setReadOnly(true);
+    }
+
+    @Override
+    public ManifestExport exportManifest(Integer flightId, ManifestFormat format) {
+        if (flightId == null || format == null) {
+            throw new IllegalArgumentException("Flight id and format are required");
+        }
+        if (!exportPermits.tryAcquire()) {
+            throw new IllegalStateException("Too many manifest exports in progress, try again shortly");
+        }
+
+        try {
+            FlightDTO flight = flightRepository.findById(flightId)
+                    .orElseThrow(() -> new RuntimeException("Flight not found with id: " + flightId));
+            ManifestExport export = jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> new ManifestExport(
+                    dataSource, flight, format, rs.getInt(1), rs.getLong(2), exportPermits::release), flightId);
+            export.watch(watchdog, openTimeoutMs, idleTimeoutMs);
+            return export;
+        } catch (RuntimeException e) {
+            exportPermits.release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        watchdog.shutdownNow();
+        dataSource.close();
+    }
+}
@@ -5,12 +5,14 @@ import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import org.example.flightreservationsystem.model.ReservationDTO;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.time.format.DateTimeFormatter;
 
 @Service
+@Lazy
 public class PdfGenerationService {
 
     public byte[] generateReservationPdf(ReservationDTO reservation) throws DocumentException {
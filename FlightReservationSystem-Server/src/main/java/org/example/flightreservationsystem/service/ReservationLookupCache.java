@@ -0,0 +1,69 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.event.ReservationChangedEvent;
+import org.example.flightreservationsystem.model.ReservationDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Component
+public class ReservationLookupCache {
+
+    private final Map<String, Map<Long, Page<ReservationDTO>>> pagesByEmail;
+    private long generation;
+
+    public ReservationLookupCache(@Value("${reservations.lookup-cache.max-emails:10000}") int maxEmails) {
+        this.pagesByEmail = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<Long, Page<ReservationDTO>>> eldest) {
+                return size() > maxEmails;
+            }
+        };
+    }
+
+    public Page<ReservationDTO> get(String email, int page, int size, Supplier<Page<ReservationDTO>> loader) {
+        String key = normalize(email);
+        long pageKey = ((long) page << 32) | size;
+
+        long loadGeneration;
+        synchronized (pagesByEmail) {
+            Map<Long, Page<ReservationDTO>> pages = pagesByEmail.get(key);
+            if (pages != null && pages.containsKey(pageKey)) {
+                return pages.get(pageKey);
+            }
+            loadGeneration = generation;
+        }
+
+        Page<ReservationDTO> loaded = loader.get();
+        synchronized (pagesByEmail) {
+            if (loadGeneration == generation) {
+                pagesByEmail.computeIfAbsent(key, k -> new HashMap<>()).put(pageKey, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(String email) {
+        synchronized (pagesByEmail) {
+            generation++;
+            pagesByEmail.remove(normalize(email));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        invalidate(event.getPassengerEmail());
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,14 +1,17 @@
 package org.example.flightreservationsystem.service;
 
 import org.example.flightreservationsystem.model.ReservationDTO;
+import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 public interface ReservationService {
     ReservationDTO createReservation(ReservationDTO reservation);
+    List<ReservationDTO> createReservations(List<ReservationDTO> reservations);
     ReservationDTO getReservationById(Integer id);
     ReservationDTO getReservationByCode(String reservationCode);
+    Page<ReservationDTO> getReservationsByEmail(String passengerEmail, int page, int size);
     void cancelReservation(String reservationCode);
     BigDecimal calculateTotalPrice(Integer flightId, Integer seats);
 }
\ No newline at end of file
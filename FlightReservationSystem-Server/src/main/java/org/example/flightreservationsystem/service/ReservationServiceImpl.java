@@ -1,41 +1,117 @@
 package org.example.flightreservationsystem.service;
 
+import org.example.flightreservationsystem.event.ReservationChangedEvent;
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.journal.JournaledReservationWriter;
 import org.example.flightreservationsystem.model.FlightDTO;
 import org.example.flightreservationsystem.model.ReservationDTO;
+import org.example.flightreservationsystem.pricing.PricingEngine;
 import org.example.flightreservationsystem.repository.FlightRepository;
 import org.example.flightreservationsystem.repository.ReservationRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class ReservationServiceImpl implements ReservationService {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final ReservationRepository reservationRepository;
     private final FlightRepository flightRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingEngine pricingEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final JournaledReservationWriter journaledWriter;
+    private final ReservationLookupCache reservationLookupCache;
+    private final SeatMapService seatMapService;
 
     public ReservationServiceImpl(ReservationRepository reservationRepository,
-                                  FlightRepository flightRepository) {
+                                  FlightRepository flightRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PricingEngine pricingEngine,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectProvider<JournaledReservationWriter> journaledWriter,
+                                  ReservationLookupCache reservationLookupCache,
+                                  SeatMapService seatMapService) {
         this.reservationRepository = reservationRepository;
         this.flightRepository = flightRepository;
+        this.eventPublisher = eventPublisher;
+        this.pricingEngine = pricingEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.journaledWriter = journaledWriter.getIfAvailable();
+        this.reservationLookupCache = reservationLookupCache;
+        this.seatMapService = seatMapService;
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReservationDTO createReservation(ReservationDTO reservation) {
         if (reservation == null || reservation.getFlight() == null || reservation.getSeatsReserved() == null) {
             throw new IllegalArgumentException("Invalid reservation data");
         }
+        if (reservation.getSeatsReserved() <= 0) {
+            throw new IllegalArgumentException("Seats reserved must be positive");
+        }
+        if (journaledWriter != null && reservation.getSeatNumbers() != null && !reservation.getSeatNumbers().isBlank()) {
+            throw new IllegalArgumentException("Seat selection is not available in journaled booking mode");
+        }
+
+        ReservationDTO created = journaledWriter != null
+                ? journaledWriter.createReservation(reservation)
+                : transactionTemplate.execute(status -> createReservationInDatabase(reservation));
+
+        eventPublisher.publishEvent(new ReservationChangedEvent(created.getReservationCode(), created.getPassengerEmail()));
+        return created;
+    }
 
+    @Override
+    public List<ReservationDTO> createReservations(List<ReservationDTO> reservations) {
+        List<ReservationDTO> created = new ArrayList<>(reservations.size());
+        for (ReservationDTO reservation : reservations) {
+            ReservationDTO result;
+            if (journaledWriter != null) {
+                try {
+                    result = journaledWriter.createReservation(reservation);
+                } catch (IllegalStateException e) {
+                    result = null;
+                }
+            } else {
+                result = tryCreateReservationInDatabase(reservation);
+            }
+            if (result != null) {
+                eventPublisher.publishEvent(new ReservationChangedEvent(result.getReservationCode(), result.getPassengerEmail()));
+            }
+            created.add(result);
+        }
+        return created;
+    }
+
+    private ReservationDTO createReservationInDatabase(ReservationDTO reservation) {
+        ReservationDTO created = tryCreateReservationInDatabase(reservation);
+        if (created == null) {
+            throw new IllegalStateException("Not enough seats available");
+        }
+        return created;
+    }
+
+    private ReservationDTO tryCreateReservationInDatabase(ReservationDTO reservation) {
         FlightDTO flight = flightRepository.findById(reservation.getFlight().getId())
                 .orElseThrow(() -> new RuntimeException("Flight not found with id: " + reservation.getFlight().getId()));
 
         if (flight.getAvailableSeats() < reservation.getSeatsReserved()) {
-            throw new IllegalStateException("Not enough seats available");
+            return null;
         }
 
         String reservationCode;
@@ -45,53 +121,97 @@ public class ReservationServiceImpl implements ReservationService {
 
         reservation.setReservationCode(reservationCode);
 
-        BigDecimal totalPrice = flight.getBasePrice().multiply(BigDecimal.valueOf(reservation.getSeatsReserved()));
+        BigDecimal totalPrice = pricingEngine.getTotalPrice(flight, reservation.getSeatsReserved());
         reservation.setTotalPrice(totalPrice);
 
         reservation.setReservationDate(LocalDateTime.now());
 
-        flight.setAvailableSeats(flight.getAvailableSeats() - reservation.getSeatsReserved());
-        flightRepository.save(flight);
+        if (flightRepository.reserveSeats(flight.getId(), reservation.getSeatsReserved()) == 0) {
+            return null;
+        }
+        flight.setAvailableSeats(flightRepository.findAvailableSeatsById(flight.getId()));
+        reservation.setSeatNumbers(seatMapService.assignSeats(
+                flight.getId(), reservation.getSeatsReserved(), reservation.getSeatNumbers()));
+        reservation.setFlight(flight);
+        eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                flight.getId(), flight.getAvailableSeats(), -reservation.getSeatsReserved()));
 
         return reservationRepository.save(reservation);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReservationDTO getReservationById(Integer id) {
         return reservationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Reservation not found with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReservationDTO getReservationByCode(String reservationCode) {
+        if (journaledWriter != null) {
+            ReservationDTO pending = journaledWriter.findPendingReservation(reservationCode);
+            if (pending != null) {
+                return pending;
+            }
+        }
         return reservationRepository.findByReservationCode(reservationCode);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReservationDTO> getReservationsByEmail(String passengerEmail, int page, int size) {
+        if (passengerEmail == null || passengerEmail.isBlank()) {
+            throw new IllegalArgumentException("Passenger email cannot be null or empty");
+        }
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (journaledWriter != null && journaledWriter.hasPendingReservations(passengerEmail.trim())) {
+            journaledWriter.flush();
+        }
+        return reservationLookupCache.get(passengerEmail, page, size, () ->
+                reservationRepository.findByPassengerEmailOrderByReservationDateDesc(
+                        passengerEmail.trim(), PageRequest.of(page, size)));
+    }
+
     @Override
     public void cancelReservation(String reservationCode) {
         if (reservationCode == null || reservationCode.isBlank()) {
             throw new IllegalArgumentException("Reservation code cannot be null or empty");
         }
 
+        if (journaledWriter != null && journaledWriter.findPendingReservation(reservationCode) != null) {
+            journaledWriter.flush();
+        }
+
         ReservationDTO reservation = reservationRepository.findByReservationCode(reservationCode);
         if (reservation == null) {
             throw new RuntimeException("Reservation not found with code: " + reservationCode);
         }
 
+        if (reservationRepository.markCancelled(reservation.getId(), LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Reservation not found with code: " + reservationCode);
+        }
+        eventPublisher.publishEvent(new ReservationChangedEvent(reservationCode, reservation.getPassengerEmail()));
+
         FlightDTO flight = reservation.getFlight();
         if (flight != null) {
-            flight.setAvailableSeats(flight.getAvailableSeats() + reservation.getSeatsReserved());
-            flightRepository.save(flight);
+            flightRepository.releaseSeats(flight.getId(), reservation.getSeatsReserved());
+            seatMapService.releaseSeats(flight.getId(), reservation.getSeatNumbers());
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(
+                    flight.getId(), flightRepository.findAvailableSeatsById(flight.getId()),
+                    reservation.getSeatsReserved()));
         }
-
-        reservationRepository.delete(reservation);
     }
 
-        @Override
+    @Override
+    @Transactional(readOnly = true)
     public BigDecimal calculateTotalPrice(Integer flightId, Integer seats) {
         FlightDTO flight = flightRepository.findById(flightId)
                 .orElseThrow(() -> new RuntimeException("Flight not found"));
-        return flight.getBasePrice().multiply(BigDecimal.valueOf(seats));
+        return pricingEngine.getTotalPrice(flight, seats);
     }
 
     private String generateReservationCode() {
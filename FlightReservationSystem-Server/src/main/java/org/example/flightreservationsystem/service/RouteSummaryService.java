@@ -0,0 +1,14 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.model.DayFareSummary;
+import org.example.flightreservationsystem.model.RouteDaySummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RouteSummaryService {
+    List<RouteDaySummary> getAvailableRoutes(Integer departureCityId, int days);
+    List<DayFareSummary> getFareCalendar(Integer departureCityId, Integer arrivalCityId,
+                                         LocalDate from, LocalDate to, int seats);
+    void rebuild();
+}
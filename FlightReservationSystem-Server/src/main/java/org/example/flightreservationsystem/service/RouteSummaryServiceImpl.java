@@ -0,0 +1,312 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.DayFareSummary;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.RouteDaySummary;
+import org.example.flightreservationsystem.pricing.PricingEngine;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Service
+public class RouteSummaryServiceImpl implements RouteSummaryService {
+
+    private final FlightRepository flightRepository;
+    private final PricingEngine pricingEngine;
+    private final int maxCalendarDays;
+
+    private final Object swapLock = new Object();
+    private final Map<Integer, SeatAvailabilityChangedEvent> seatsChangedDuringRebuild = new HashMap<>();
+    private boolean rebuilding;
+    private volatile Index index = new Index();
+
+    public RouteSummaryServiceImpl(FlightRepository flightRepository, PricingEngine pricingEngine,
+                                   @Value("${flights.fare-calendar.max-days:62}") int maxCalendarDays) {
+        this.flightRepository = flightRepository;
+        this.pricingEngine = pricingEngine;
+        this.maxCalendarDays = maxCalendarDays;
+    }
+
+    @Override
+    public List<RouteDaySummary> getAvailableRoutes(Integer departureCityId, int days) {
+        if (departureCityId == null || days <= 0) {
+            throw new IllegalArgumentException("Departure city and a positive number of days are required");
+        }
+
+        Map<Integer, NavigableMap<LocalDate, RouteDaySummary>> routes = index.summaries.get(departureCityId);
+        if (routes == null) {
+            return Collections.emptyList();
+        }
+
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(days);
+        List<RouteDaySummary> result = new ArrayList<>();
+        routes.values().forEach(byDay -> byDay.subMap(from, true, to, false).values().forEach(summary -> {
+            if (summary.getAvailableSeats() > 0) {
+                result.add(summary);
+            }
+        }));
+        return result;
+    }
+
+    @Override
+    public List<DayFareSummary> getFareCalendar(Integer departureCityId, Integer arrivalCityId,
+                                                LocalDate from, LocalDate to, int seats) {
+        if (departureCityId == null || arrivalCityId == null || from == null || to == null) {
+            throw new IllegalArgumentException("Departure city, arrival city and a date range are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("To date must not be before from date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxCalendarDays) {
+            throw new IllegalArgumentException("Fare calendars can cover at most " + maxCalendarDays + " days");
+        }
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seats must be positive");
+        }
+
+        FlightSlot[] slots = index.slotsByRoute.get(routeKey(departureCityId, arrivalCityId));
+        List<DayFareSummary> calendar = new ArrayList<>();
+        if (slots == null) {
+            return calendar;
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+        if (start.isBefore(now)) {
+            start = now;
+        }
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        LocalDate day = null;
+        int flights = 0;
+        int availableSeats = 0;
+        long lowestFareCents = Long.MAX_VALUE;
+        for (int i = firstDepartingOnOrAfter(slots, start); i < slots.length; i++) {
+            FlightSlot slot = slots[i];
+            if (!slot.departure.isBefore(end)) {
+                break;
+            }
+            if (!slot.key.day().equals(day)) {
+                if (day != null) {
+                    calendar.add(toDayFare(day, flights, availableSeats, lowestFareCents));
+                }
+                day = slot.key.day();
+                flights = 0;
+                availableSeats = 0;
+                lowestFareCents = Long.MAX_VALUE;
+            }
+            int slotSeats = slot.availableSeats;
+            flights++;
+            availableSeats += slotSeats;
+            if (slotSeats >= seats) {
+                lowestFareCents = Math.min(lowestFareCents, pricingEngine.fareCents(slot.pricingView(slotSeats)));
+            }
+        }
+        if (day != null) {
+            calendar.add(toDayFare(day, flights, availableSeats, lowestFareCents));
+        }
+        return calendar;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flights.route-summary.refresh-interval-ms:600000}",
+            initialDelayString = "${flights.route-summary.refresh-interval-ms:600000}")
+    public synchronized void rebuild() {
+        synchronized (swapLock) {
+            rebuilding = true;
+            seatsChangedDuringRebuild.clear();
+        }
+
+        Index rebuilt = new Index();
+        Map<Long, List<FlightSlot>> slotsByRoute = new HashMap<>();
+
+        for (FlightDTO flight : flightRepository.findByDepartureDatetimeGreaterThanEqual(LocalDate.now().atStartOfDay())) {
+            LocalDate day = flight.getDepartureDatetime().toLocalDate();
+            FlightSlot slot = new FlightSlot(
+                    new RouteDayKey(flight.getDepartureCity().getId(), flight.getArrivalCity().getId(), day), flight);
+            rebuilt.slotsByFlight.put(flight.getId(), slot);
+            rebuilt.slotsByRouteDay.computeIfAbsent(slot.key, key -> new ArrayList<>()).add(slot);
+            slotsByRoute.computeIfAbsent(routeKey(slot.key.departureCityId(), slot.key.arrivalCityId()),
+                    key -> new ArrayList<>()).add(slot);
+        }
+        rebuilt.slotsByRouteDay.keySet().forEach(key -> rebuilt.refresh(key, pricingEngine));
+        slotsByRoute.forEach((route, slots) -> {
+            slots.sort(Comparator.comparing(slot -> slot.departure));
+            rebuilt.slotsByRoute.put(route, slots.toArray(new FlightSlot[0]));
+        });
+
+        // Changes delivered before the rebuild started are part of what was read, so their sequences
+        // carry over and an older event still in flight cannot overwrite the count that was read.
+        // Changes delivered while the flights were being read may be missing from it; the latest of
+        // each flight is applied before the rebuilt index replaces the old one.
+        synchronized (swapLock) {
+            Index current = index;
+            synchronized (current) {
+                current.slotsByFlight.forEach((flightId, slot) -> {
+                    FlightSlot rebuiltSlot = rebuilt.slotsByFlight.get(flightId);
+                    if (rebuiltSlot != null) {
+                        rebuiltSlot.sequence = slot.sequence;
+                    }
+                });
+            }
+            seatsChangedDuringRebuild.values().forEach(event -> {
+                FlightSlot slot = rebuilt.slotsByFlight.get(event.getFlightId());
+                if (slot != null && event.getSequence() >= slot.sequence) {
+                    set(rebuilt, slot, event);
+                }
+            });
+            seatsChangedDuringRebuild.clear();
+            rebuilding = false;
+            index = rebuilt;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        Index current;
+        synchronized (swapLock) {
+            if (rebuilding) {
+                seatsChangedDuringRebuild.merge(event.getFlightId(), event,
+                        (recorded, latest) -> latest.getSequence() > recorded.getSequence() ? latest : recorded);
+            }
+            current = index;
+        }
+        apply(current, event);
+    }
+
+    /**
+     * Sets the flight's count from the event unless a later change of the flight was applied already;
+     * after-commit events of concurrent transactions can arrive in either order.
+     */
+    private void apply(Index target, SeatAvailabilityChangedEvent event) {
+        FlightSlot slot = target.slotsByFlight.get(event.getFlightId());
+        if (slot == null) {
+            return;
+        }
+        synchronized (target) {
+            if (event.getSequence() > slot.sequence) {
+                set(target, slot, event);
+            }
+        }
+    }
+
+    private void set(Index target, FlightSlot slot, SeatAvailabilityChangedEvent event) {
+        synchronized (target) {
+            slot.sequence = event.getSequence();
+            slot.availableSeats = event.getAvailableSeats();
+            target.refresh(slot.key, pricingEngine);
+        }
+    }
+
+    private static long routeKey(Integer departureCityId, Integer arrivalCityId) {
+        return ((long) departureCityId << 32) | (arrivalCityId & 0xFFFFFFFFL);
+    }
+
+    private static int firstDepartingOnOrAfter(FlightSlot[] slots, LocalDateTime time) {
+        int low = 0;
+        int high = slots.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (slots[mid].departure.isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static DayFareSummary toDayFare(LocalDate day, int flights, int availableSeats, long lowestFareCents) {
+        return new DayFareSummary(day, flights, availableSeats,
+                lowestFareCents == Long.MAX_VALUE ? null : BigDecimal.valueOf(lowestFareCents, 2));
+    }
+
+    private record RouteDayKey(Integer departureCityId, Integer arrivalCityId, LocalDate day) {
+    }
+
+    /**
+     * The fields of a flight the index needs, copied out of the entity so that request threads
+     * price from immutable values plus the current seat count.
+     */
+    private static final class FlightSlot {
+        private final RouteDayKey key;
+        private final Integer flightId;
+        private final LocalDateTime departure;
+        private final CityDTO arrivalCity;
+        private final Integer totalSeats;
+        private final BigDecimal basePrice;
+        private volatile int availableSeats;
+        private long sequence;
+
+        private FlightSlot(RouteDayKey key, FlightDTO flight) {
+            this.key = key;
+            this.flightId = flight.getId();
+            this.departure = flight.getDepartureDatetime();
+            this.arrivalCity = flight.getArrivalCity();
+            this.totalSeats = flight.getTotalSeats();
+            this.basePrice = flight.getBasePrice();
+            this.availableSeats = flight.getAvailableSeats();
+        }
+
+        private FlightDTO pricingView(int seats) {
+            FlightDTO flight = new FlightDTO();
+            flight.setId(flightId);
+            flight.setDepartureDatetime(departure);
+            flight.setTotalSeats(totalSeats);
+            flight.setAvailableSeats(seats);
+            flight.setBasePrice(basePrice);
+            return flight;
+        }
+    }
+
+    private static final class Index {
+        private final Map<Integer, FlightSlot> slotsByFlight = new HashMap<>();
+        private final Map<RouteDayKey, List<FlightSlot>> slotsByRouteDay = new HashMap<>();
+        private final Map<Long, FlightSlot[]> slotsByRoute = new HashMap<>();
+        private final Map<Integer, Map<Integer, NavigableMap<LocalDate, RouteDaySummary>>> summaries = new ConcurrentHashMap<>();
+
+        private void refresh(RouteDayKey key, PricingEngine pricingEngine) {
+            List<FlightSlot> slots = slotsByRouteDay.get(key);
+            int seats = 0;
+            long minFareCents = Long.MAX_VALUE;
+            for (FlightSlot slot : slots) {
+                int slotSeats = slot.availableSeats;
+                seats += slotSeats;
+                if (slotSeats > 0) {
+                    minFareCents = Math.min(minFareCents, pricingEngine.fareCents(slot.pricingView(slotSeats)));
+                }
+            }
+            BigDecimal minPrice = minFareCents == Long.MAX_VALUE ? null : BigDecimal.valueOf(minFareCents, 2);
+
+            RouteDaySummary summary = new RouteDaySummary(key.departureCityId(), slots.get(0).arrivalCity,
+                    key.day(), slots.size(), seats, minPrice);
+            summaries.computeIfAbsent(key.departureCityId(), id -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key.arrivalCityId(), id -> new ConcurrentSkipListMap<>())
+                    .put(key.day(), summary);
+        }
+    }
+}
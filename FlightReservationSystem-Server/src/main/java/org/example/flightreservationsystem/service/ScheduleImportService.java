@@ -0,0 +1,299 @@
+package org.example.flightreservationsystem.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.example.flightreservationsystem.journal.SeatLedger;
+import org.example.flightreservationsystem.pricing.PricingEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streams cities and flights from CSV (RFC 4180, header row first) or XML files into the database.
+ * Rows are upserted in batches of {@link #BATCH_SIZE}, each committed in its own transaction, so a
+ * failing row leaves every earlier batch imported and nothing of its own. Once a batch commits, the
+ * flights in it that already existed are dropped from the seat map and fare caches and reloaded
+ * by the seat ledger.
+ */
+@Service
+@Lazy
+public class ScheduleImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleImportService.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int PROGRESS_INTERVAL = 100_000;
+
+    private static final String[] CITY_COLUMNS = {"cityName", "country"};
+    private static final String[] FLIGHT_COLUMNS = {"flightCode", "departureCity", "arrivalCity",
+            "departureDatetime", "arrivalDatetime", "totalSeats", "basePrice"};
+
+    private static final String UPSERT_CITY_SQL =
+            "INSERT INTO cities (CITY_NAME, COUNTRY) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE CITY_NAME = CITY_NAME";
+    private static final String LEGACY_CITY_KEY_SQL =
+            "SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() " +
+            "AND TABLE_NAME = 'cities' AND INDEX_NAME = 'UK_CITY_NAME'";
+    private static final String EXISTING_FLIGHTS_SQL =
+            "SELECT FLIGHT_ID FROM flights WHERE (FLIGHT_CODE, DEPARTURE_DATETIME) IN (:keys) FOR UPDATE";
+    private static final Integer AMBIGUOUS_CITY = -1;
+    private static final CSVFormat CSV_FORMAT = CSVFormat.RFC4180.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    private static final String UPSERT_FLIGHT_SQL =
+            "INSERT INTO flights (FLIGHT_CODE, DEPARTURE_CITY_ID, ARRIVAL_CITY_ID, DEPARTURE_DATETIME, " +
+            "ARRIVAL_DATETIME, TOTAL_SEATS, AVAILABLE_SEATS, BASE_PRICE) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "AVAILABLE_SEATS = GREATEST(0, AVAILABLE_SEATS + VALUES(TOTAL_SEATS) - TOTAL_SEATS), " +
+            "TOTAL_SEATS = VALUES(TOTAL_SEATS), " +
+            "DEPARTURE_CITY_ID = VALUES(DEPARTURE_CITY_ID), " +
+            "ARRIVAL_CITY_ID = VALUES(ARRIVAL_CITY_ID), " +
+            "ARRIVAL_DATETIME = VALUES(ARRIVAL_DATETIME), " +
+            "BASE_PRICE = VALUES(BASE_PRICE)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SeatMapService seatMapService;
+    private final PricingEngine pricingEngine;
+    private final SeatLedger seatLedger;
+
+    public ScheduleImportService(JdbcTemplate jdbcTemplate,
+                                 NamedParameterJdbcTemplate namedJdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 SeatMapService seatMapService,
+                                 PricingEngine pricingEngine,
+                                 ObjectProvider<SeatLedger> seatLedger) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.seatMapService = seatMapService;
+        this.pricingEngine = pricingEngine;
+        this.seatLedger = seatLedger.getIfAvailable();
+    }
+
+    public ImportResult importCities(Path file) throws IOException {
+        dropLegacyCityKey();
+        BatchWriter writer = new BatchWriter("cities", batch -> jdbcTemplate.batchUpdate(UPSERT_CITY_SQL, batch));
+        readRows(file, "city", CITY_COLUMNS, row -> writer.add(new Object[]{row[0], row[1]}));
+        return writer.finish();
+    }
+
+    public ImportResult importFlights(Path file) throws IOException {
+        Map<String, Integer> cityIds = loadCityIds();
+        BatchWriter writer = new BatchWriter("flights", this::writeFlights);
+
+        readRows(file, "flight", FLIGHT_COLUMNS, row -> {
+            Integer departureCityId = resolveCity(cityIds, row[1]);
+            Integer arrivalCityId = resolveCity(cityIds, row[2]);
+            int totalSeats = Integer.parseInt(row[5]);
+
+            writer.add(new Object[]{
+                    row[0],
+                    departureCityId,
+                    arrivalCityId,
+                    Timestamp.valueOf(LocalDateTime.parse(row[3])),
+                    Timestamp.valueOf(LocalDateTime.parse(row[4])),
+                    totalSeats,
+                    totalSeats,
+                    new BigDecimal(row[6])
+            });
+        });
+        return writer.finish();
+    }
+
+    private void writeFlights(List<Object[]> batch) {
+        List<Object[]> keys = batch.stream().map(row -> new Object[]{row[0], row[3]}).toList();
+        List<Integer> existingFlightIds = namedJdbcTemplate.queryForList(
+                EXISTING_FLIGHTS_SQL, new MapSqlParameterSource("keys", keys), Integer.class);
+        jdbcTemplate.batchUpdate(UPSERT_FLIGHT_SQL, batch);
+        if (existingFlightIds.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatMapService.evict(existingFlightIds);
+                pricingEngine.evict(existingFlightIds);
+                if (seatLedger != null) {
+                    seatLedger.refresh(existingFlightIds);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cities used to be unique by name alone; the key is now (name, country), so the old one has
+     * to go before a city of an existing name can be imported for another country.
+     */
+    private void dropLegacyCityKey() {
+        Integer legacyKeys = jdbcTemplate.queryForObject(LEGACY_CITY_KEY_SQL, Integer.class);
+        if (legacyKeys != null && legacyKeys > 0) {
+            logger.info("Replacing unique key UK_CITY_NAME on cities with (CITY_NAME, COUNTRY)");
+            jdbcTemplate.execute("ALTER TABLE cities DROP INDEX UK_CITY_NAME");
+        }
+    }
+
+    /**
+     * Flights name their cities either by name alone, when only one country has a city of that
+     * name, or as "name, country".
+     */
+    private Map<String, Integer> loadCityIds() {
+        Map<String, Integer> cityIds = new HashMap<>();
+        jdbcTemplate.query("SELECT CITY_ID, CITY_NAME, COUNTRY FROM cities", (RowCallbackHandler) rs -> {
+            int id = rs.getInt("CITY_ID");
+            String name = rs.getString("CITY_NAME");
+            cityIds.put(name + ", " + rs.getString("COUNTRY"), id);
+            cityIds.merge(name, id, (existing, added) -> AMBIGUOUS_CITY);
+        });
+        return cityIds;
+    }
+
+    private Integer resolveCity(Map<String, Integer> cityIds, String cityName) {
+        Integer id = cityIds.get(cityName);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown city: " + cityName);
+        }
+        if (AMBIGUOUS_CITY.equals(id)) {
+            throw new IllegalArgumentException("City " + cityName + " exists in several countries; " +
+                    "name it as '" + cityName + ", <country>'");
+        }
+        return id;
+    }
+
+    private void readRows(Path file, String elementName, String[] columns, Consumer<String[]> handler) throws IOException {
+        if (file.getFileName().toString().toLowerCase().endsWith(".xml")) {
+            readXmlRows(file, elementName, columns, handler);
+        } else {
+            readCsvRows(file, columns, handler);
+        }
+    }
+
+    private void readCsvRows(Path file, String[] columns, Consumer<String[]> handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVParser parser = CSV_FORMAT.parse(reader)) {
+            for (CSVRecord record : parser) {
+                if (record.size() != columns.length) {
+                    throw new IllegalArgumentException("Expected " + columns.length + " columns in record " +
+                            record.getRecordNumber() + " of " + file + " but found " + record.size());
+                }
+                handler.accept(record.values());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void readXmlRows(Path file, String elementName, String[] columns, Consumer<String[]> handler) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in, StandardCharsets.UTF_8.name());
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && elementName.equals(reader.getLocalName())) {
+                        String[] row = new String[columns.length];
+                        for (int i = 0; i < columns.length; i++) {
+                            String value = reader.getAttributeValue(null, columns[i]);
+                            if (value == null) {
+                                throw new IllegalArgumentException("Missing attribute '" + columns[i] + "' on <" +
+                                        elementName + "> at line " + reader.getLocation().getLineNumber() + " of " + file);
+                            }
+                            row[i] = value.trim();
+                        }
+                        handler.accept(row);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Error reading schedule file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private final class BatchWriter {
+        private final String name;
+        private final Consumer<List<Object[]>> writeBatch;
+        private final List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        private final long startNanos = System.nanoTime();
+        private long rows;
+
+        private BatchWriter(String name, Consumer<List<Object[]>> writeBatch) {
+            this.name = name;
+            this.writeBatch = writeBatch;
+        }
+
+        private void add(Object[] args) {
+            batch.add(args);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> writeBatch.accept(batch));
+            long before = rows;
+            rows += batch.size();
+            batch.clear();
+
+            if (before / PROGRESS_INTERVAL != rows / PROGRESS_INTERVAL) {
+                logger.info("Imported {} {} ({} rows/s)", rows, name, Math.round(rowsPerSecond()));
+            }
+        }
+
+        private double rowsPerSecond() {
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return seconds > 0 ? rows / seconds : rows;
+        }
+
+        private ImportResult finish() {
+            flush();
+            ImportResult result = new ImportResult(rows, (System.nanoTime() - startNanos) / 1_000_000, rowsPerSecond());
+            logger.info("Finished importing {} {} in {} ms ({} rows/s)", result.rows(), name,
+                    result.elapsedMillis(), Math.round(result.rowsPerSecond()));
+            return result;
+        }
+    }
+
+    public record ImportResult(long rows, long elapsedMillis, double rowsPerSecond) {
+    }
+}
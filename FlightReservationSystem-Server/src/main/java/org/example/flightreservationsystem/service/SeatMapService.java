@@ -0,0 +1,13 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.seatmap.SeatMap;
+
+import java.util.Collection;
+
+public interface SeatMapService {
+    SeatMap getSeatMap(Integer flightId);
+    String assignSeats(Integer flightId, int seats, String requestedSeats);
+    void releaseSeats(Integer flightId, String seatNumbers);
+    void evict(Collection<Integer> flightIds);
+    void flush();
+}
@@ -0,0 +1,224 @@
+package org.example.flightreservationsystem.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.cluster.FlightOwnership;
+import org.example.flightreservationsystem.event.ClusterTopologyChangedEvent;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.SeatMapDTO;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.example.flightreservationsystem.repository.SeatMapRepository;
+import org.example.flightreservationsystem.seatmap.SeatMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns seats from in-memory bitmaps owned by this member. Every assigned seat also gets a row
+ * in {@code seat_assignments}, written in the booking transaction; its primary key keeps two
+ * members with diverging views of flight ownership from selling the same seat.
+ */
+@Service
+public class SeatMapServiceImpl implements SeatMapService {
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapServiceImpl.class);
+    private static final String CREATE_ASSIGNMENTS_SQL =
+            "CREATE TABLE IF NOT EXISTS seat_assignments (FLIGHT_ID INT NOT NULL, SEAT_NUMBER VARCHAR(8) NOT NULL, " +
+            "PRIMARY KEY (FLIGHT_ID, SEAT_NUMBER))";
+    private static final String ASSIGNMENTS_TABLE_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'seat_assignments'";
+    private static final String ASSIGNED_SEAT_NUMBERS_SQL =
+            "SELECT FLIGHT_ID, SEAT_NUMBERS FROM reservations WHERE CANCELLED_AT IS NULL AND SEAT_NUMBERS IS NOT NULL";
+    private static final String BACKFILL_ASSIGNMENT_SQL =
+            "INSERT IGNORE INTO seat_assignments (FLIGHT_ID, SEAT_NUMBER) VALUES (?, ?)";
+    private static final String INSERT_ASSIGNMENT_SQL =
+            "INSERT INTO seat_assignments (FLIGHT_ID, SEAT_NUMBER) VALUES (?, ?)";
+    private static final String ASSIGNED_SEATS_SQL =
+            "SELECT SEAT_NUMBER FROM seat_assignments WHERE FLIGHT_ID = ?";
+    private static final String DELETE_ASSIGNMENT_SQL =
+            "DELETE FROM seat_assignments WHERE FLIGHT_ID = ? AND SEAT_NUMBER = ?";
+    private static final String UPSERT_SQL =
+            "INSERT INTO seat_maps (FLIGHT_ID, CAPACITY, SEATS_PER_ROW, OCCUPIED, UPDATED_AT) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE CAPACITY = VALUES(CAPACITY), OCCUPIED = VALUES(OCCUPIED), UPDATED_AT = VALUES(UPDATED_AT)";
+
+    private final SeatMapRepository seatMapRepository;
+    private final FlightRepository flightRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FlightOwnership flightOwnership;
+    private final int defaultSeatsPerRow;
+
+    private final Map<Integer, SeatMap> seatMaps = new ConcurrentHashMap<>();
+    private final Set<Integer> dirtyFlights = ConcurrentHashMap.newKeySet();
+
+    public SeatMapServiceImpl(SeatMapRepository seatMapRepository,
+                              FlightRepository flightRepository,
+                              JdbcTemplate jdbcTemplate,
+                              FlightOwnership flightOwnership,
+                              @Value("${seatmap.default-seats-per-row:6}") int defaultSeatsPerRow) {
+        this.seatMapRepository = seatMapRepository;
+        this.flightRepository = flightRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.flightOwnership = flightOwnership;
+        this.defaultSeatsPerRow = defaultSeatsPerRow;
+    }
+
+    @PostConstruct
+    public void createAssignmentsTable() {
+        Integer tables = jdbcTemplate.queryForObject(ASSIGNMENTS_TABLE_EXISTS_SQL, Integer.class);
+        if (tables != null && tables > 0) {
+            return;
+        }
+        jdbcTemplate.execute(CREATE_ASSIGNMENTS_SQL);
+        List<Object[]> assignments = jdbcTemplate.query(ASSIGNED_SEAT_NUMBERS_SQL, (rs, rowNum) -> {
+            int flightId = rs.getInt("FLIGHT_ID");
+            return Arrays.stream(rs.getString("SEAT_NUMBERS").split(","))
+                    .map(seat -> new Object[]{flightId, seat.trim()}).toList();
+        }).stream().flatMap(List::stream).toList();
+        jdbcTemplate.batchUpdate(BACKFILL_ASSIGNMENT_SQL, assignments);
+    }
+
+    @Override
+    public SeatMap getSeatMap(Integer flightId) {
+        if (flightId == null) {
+            throw new IllegalArgumentException("Flight id cannot be null");
+        }
+        return seatMaps.computeIfAbsent(flightId, this::load);
+    }
+
+    @Override
+    public String assignSeats(Integer flightId, int seats, String requestedSeats) {
+        SeatMap seatMap = getSeatMap(flightId);
+        int[] assigned;
+        if (requestedSeats != null && !requestedSeats.isBlank()) {
+            assigned = Arrays.stream(requestedSeats.split(",")).mapToInt(seatMap::parse).distinct().toArray();
+            if (assigned.length != seats) {
+                throw new IllegalArgumentException("Select exactly " + seats + " distinct seats");
+            }
+            if (!seatMap.allocate(assigned)) {
+                throw new IllegalStateException("Requested seats are no longer available");
+            }
+        } else {
+            assigned = seatMap.allocate(seats);
+            if (assigned == null) {
+                throw new IllegalStateException("No seats left on the seat map");
+            }
+        }
+        dirtyFlights.add(flightId);
+
+        List<String> labels = Arrays.stream(assigned).mapToObj(seatMap::label).toList();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, labels.stream()
+                    .map(label -> new Object[]{flightId, label}).toList());
+        } catch (DuplicateKeyException e) {
+            seatMap.release(assigned);
+            evict(List.of(flightId));
+            throw new IllegalStateException("Requested seats are no longer available");
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        seatMap.release(assigned);
+                        dirtyFlights.add(flightId);
+                    }
+                }
+            });
+        }
+        return String.join(",", labels);
+    }
+
+    @Override
+    public void releaseSeats(Integer flightId, String seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isBlank()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_ASSIGNMENT_SQL, Arrays.stream(seatNumbers.split(","))
+                .map(seat -> new Object[]{flightId, seat.trim()}).toList());
+        Runnable release = () -> {
+            SeatMap seatMap = getSeatMap(flightId);
+            seatMap.release(Arrays.stream(seatNumbers.split(",")).mapToInt(seatMap::parse).toArray());
+            dirtyFlights.add(flightId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    @Override
+    public void evict(Collection<Integer> flightIds) {
+        flightIds.forEach(flightId -> {
+            dirtyFlights.remove(flightId);
+            seatMaps.remove(flightId);
+        });
+    }
+
+    @EventListener
+    public void onClusterTopologyChanged(ClusterTopologyChangedEvent event) {
+        flush();
+        evict(seatMaps.keySet().stream().filter(flightId -> !flightOwnership.isLocal(flightId)).toList());
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${seatmap.flush-interval-ms:1000}")
+    public void flush() {
+        for (Integer flightId : dirtyFlights) {
+            dirtyFlights.remove(flightId);
+            SeatMap seatMap = seatMaps.get(flightId);
+            if (seatMap != null) {
+                jdbcTemplate.update(UPSERT_SQL, flightId, seatMap.getCapacity(), seatMap.getSeatsPerRow(),
+                        seatMap.toBytes(), Timestamp.valueOf(LocalDateTime.now()));
+            }
+        }
+    }
+
+    /**
+     * Loads the layout of the packed map written by {@link #flush()} and marks the seats listed in
+     * {@code seat_assignments}, which the booking transactions keep exact. The packed bits are only
+     * compared: a flush lost in a crash can leave them on other seats with the same count, so when
+     * they differ the rebuilt map wins and is written back. The capacity always follows the
+     * flight's current {@code TOTAL_SEATS}, which a schedule import may have changed.
+     */
+    private SeatMap load(Integer flightId) {
+        SeatMapDTO stored = seatMapRepository.findById(flightId).orElse(null);
+        FlightDTO flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new RuntimeException("Flight not found with id: " + flightId));
+        int seatsPerRow = stored != null ? stored.getSeatsPerRow() : defaultSeatsPerRow;
+        SeatMap seatMap = new SeatMap(flight.getTotalSeats(), Math.min(seatsPerRow, flight.getTotalSeats()));
+        for (String seat : jdbcTemplate.queryForList(ASSIGNED_SEATS_SQL, String.class, flightId)) {
+            try {
+                seatMap.occupy(new int[]{seatMap.parse(seat)});
+            } catch (IllegalArgumentException e) {
+                logger.warn("Seat {} of flight {} is beyond its capacity of {}", seat, flightId, flight.getTotalSeats());
+            }
+        }
+        if (stored == null || !Arrays.equals(stored.getOccupied(), seatMap.toBytes())) {
+            dirtyFlights.add(flightId);
+        }
+        return seatMap;
+    }
+}
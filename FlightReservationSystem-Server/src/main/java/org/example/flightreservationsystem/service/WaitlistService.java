@@ -0,0 +1,13 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.model.WaitlistEntryDTO;
+import org.example.flightreservationsystem.model.WaitlistPosition;
+
+import java.util.Collection;
+
+public interface WaitlistService {
+    WaitlistPosition joinWaitlist(WaitlistEntryDTO entry);
+    WaitlistPosition getPosition(Integer waitlistId);
+    void closeWaitlist(Integer flightId);
+    void evict(Collection<Integer> flightIds);
+}
@@ -0,0 +1,384 @@
+package org.example.flightreservationsystem.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.flightreservationsystem.cluster.FlightOwnership;
+import org.example.flightreservationsystem.event.ClusterTopologyChangedEvent;
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.ReservationDTO;
+import org.example.flightreservationsystem.model.WaitlistEntryDTO;
+import org.example.flightreservationsystem.model.WaitlistPosition;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.example.flightreservationsystem.repository.WaitlistRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+    private static final Comparator<WaitlistEntryDTO> QUEUE_ORDER = Comparator
+            .comparing(WaitlistEntryDTO::getPriority, Comparator.reverseOrder())
+            .thenComparing(WaitlistEntryDTO::getId);
+
+    private final WaitlistRepository waitlistRepository;
+    private final FlightRepository flightRepository;
+    private final ReservationService reservationService;
+    private final TransactionTemplate transactionTemplate;
+    private final FlightOwnership flightOwnership;
+    private final int promotionBatchSize;
+    private final boolean journalEnabled;
+    private final ExecutorService promotionPool;
+
+    private final Map<Integer, FlightWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final Map<Integer, WaitlistEntryDTO> waitingById = new ConcurrentHashMap<>();
+
+    public WaitlistServiceImpl(WaitlistRepository waitlistRepository,
+                               FlightRepository flightRepository,
+                               ReservationService reservationService,
+                               TransactionTemplate transactionTemplate,
+                               FlightOwnership flightOwnership,
+                               @Value("${waitlist.promotion-batch-size:50}") int promotionBatchSize,
+                               @Value("${waitlist.promotion-threads:2}") int promotionThreads,
+                               @Value("${reservations.journal.enabled:false}") boolean journalEnabled) {
+        this.waitlistRepository = waitlistRepository;
+        this.flightRepository = flightRepository;
+        this.reservationService = reservationService;
+        this.transactionTemplate = transactionTemplate;
+        this.flightOwnership = flightOwnership;
+        this.promotionBatchSize = promotionBatchSize;
+        this.journalEnabled = journalEnabled;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.promotionPool = Executors.newFixedThreadPool(promotionThreads, runnable -> {
+            Thread thread = new Thread(runnable, "waitlist-promotion-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlists() {
+        for (WaitlistEntryDTO entry : waitlistRepository.findByStatus(WaitlistEntryDTO.Status.WAITING)) {
+            if (flightOwnership.isLocal(entry.getFlightId())) {
+                waitlistOf(entry.getFlightId()).queue.add(entry);
+                waitingById.put(entry.getId(), entry);
+            }
+        }
+        waitlists.forEach(this::scheduleDrain);
+        if (!waitingById.isEmpty()) {
+            logger.info("Loaded {} waitlist entries on {} flights", waitingById.size(), waitlists.size());
+        }
+    }
+
+    @Override
+    public WaitlistPosition joinWaitlist(WaitlistEntryDTO entry) {
+        if (entry == null || entry.getFlightId() == null || entry.getSeatsRequested() == null) {
+            throw new IllegalArgumentException("Invalid waitlist data");
+        }
+        if (entry.getSeatsRequested() <= 0) {
+            throw new IllegalArgumentException("Seats requested must be positive");
+        }
+        if (entry.getPriority() == null) {
+            entry.setPriority(0);
+        } else if (entry.getPriority() < 0) {
+            throw new IllegalArgumentException("Priority cannot be negative");
+        }
+
+        FlightDTO flight = flightRepository.findById(entry.getFlightId())
+                .orElseThrow(() -> new RuntimeException("Flight not found with id: " + entry.getFlightId()));
+        if (entry.getSeatsRequested() > flight.getTotalSeats()) {
+            throw new IllegalArgumentException("Flight has only " + flight.getTotalSeats() + " seats");
+        }
+
+        entry.setId(null);
+        entry.setStatus(WaitlistEntryDTO.Status.WAITING);
+        entry.setJoinedAt(LocalDateTime.now());
+        entry.setResolvedAt(null);
+        entry.setReservationCode(null);
+        WaitlistEntryDTO saved = waitlistRepository.save(entry);
+
+        FlightWaitlist waitlist = waitlistOf(saved.getFlightId());
+        waitlist.queue.add(saved);
+        waitingById.put(saved.getId(), saved);
+        WaitlistPosition position = positionOf(saved, waitlist);
+        scheduleDrain(saved.getFlightId(), waitlist);
+        return position;
+    }
+
+    @Override
+    public WaitlistPosition getPosition(Integer waitlistId) {
+        WaitlistEntryDTO waiting = waitingById.get(waitlistId);
+        if (waiting != null) {
+            FlightWaitlist waitlist = waitlists.get(waiting.getFlightId());
+            if (waitlist != null) {
+                return positionOf(waiting, waitlist);
+            }
+        }
+        WaitlistEntryDTO entry = waitlistRepository.findById(waitlistId)
+                .orElseThrow(() -> new RuntimeException("Waitlist entry not found: " + waitlistId));
+        return new WaitlistPosition(entry, null, null);
+    }
+
+    @Override
+    public void closeWaitlist(Integer flightId) {
+        FlightWaitlist waitlist = waitlists.get(flightId);
+        if (waitlist == null) {
+            return;
+        }
+        waitlist.lane.execute(() -> {
+            try {
+                int closed = transactionTemplate.execute(status -> waitlistRepository.updateStatus(flightId,
+                        WaitlistEntryDTO.Status.WAITING, WaitlistEntryDTO.Status.CANCELLED, LocalDateTime.now()));
+                waitlist.queue.forEach(entry -> waitingById.remove(entry.getId()));
+                waitlist.queue.clear();
+                logger.info("Closed waitlist of flight {} ({} entries cancelled)", flightId, closed);
+            } catch (RuntimeException e) {
+                logger.error("Closing waitlist of flight {} failed", flightId, e);
+            }
+        });
+    }
+
+    @Override
+    public void evict(Collection<Integer> flightIds) {
+        for (Integer flightId : flightIds) {
+            FlightWaitlist waitlist = waitlists.remove(flightId);
+            if (waitlist != null) {
+                waitlist.queue.forEach(entry -> waitingById.remove(entry.getId()));
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        if (event.getDelta() <= 0 || !flightOwnership.isLocal(event.getFlightId())) {
+            return;
+        }
+        FlightWaitlist waitlist = waitlists.get(event.getFlightId());
+        if (waitlist != null) {
+            scheduleDrain(event.getFlightId(), waitlist);
+        }
+    }
+
+    @EventListener
+    public void onClusterTopologyChanged(ClusterTopologyChangedEvent event) {
+        evict(waitlists.keySet().stream().filter(flightId -> !flightOwnership.isLocal(flightId)).toList());
+        loadWaitlists();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promotionPool.shutdownNow();
+    }
+
+    private void scheduleDrain(Integer flightId, FlightWaitlist waitlist) {
+        if (!waitlist.queue.isEmpty() && waitlist.drainScheduled.compareAndSet(false, true)) {
+            waitlist.lane.execute(() -> drain(flightId, waitlist));
+        }
+    }
+
+    private void drain(Integer flightId, FlightWaitlist waitlist) {
+        waitlist.drainScheduled.set(false);
+        if (!flightOwnership.isLocal(flightId)) {
+            return;
+        }
+        try {
+            List<WaitlistEntryDTO> batch;
+            do {
+                FlightDTO flight = flightRepository.findById(flightId).orElse(null);
+                if (flight == null) {
+                    return;
+                }
+                batch = nextBatch(waitlist, flight.getAvailableSeats());
+                if (batch.isEmpty()) {
+                    return;
+                }
+
+                List<WaitlistEntryDTO> batchToPromote = batch;
+                List<WaitlistEntryDTO> promoted = journalEnabled
+                        ? promoteJournaled(batchToPromote)
+                        : transactionTemplate.execute(status -> promote(batchToPromote));
+                for (WaitlistEntryDTO entry : promoted) {
+                    waitlist.queue.remove(entry);
+                    waitingById.remove(entry.getId());
+                }
+                logger.info("Promoted {} of {} waitlisted bookings on flight {}", promoted.size(), batch.size(), flightId);
+                if (promoted.size() < batch.size()) {
+                    return;
+                }
+            } while (batch.size() == promotionBatchSize);
+        } catch (IllegalStateException e) {
+            logger.warn("Waitlist of flight {} changed elsewhere, reloading: {}", flightId, e.getMessage());
+            reload(flightId, waitlist);
+        } catch (RuntimeException e) {
+            logger.error("Waitlist promotion on flight {} failed", flightId, e);
+        }
+    }
+
+    /**
+     * Takes entries from the head of the queue while their seats fit. The first entry that does not
+     * fit ends the batch, so smaller parties behind it never overtake it.
+     */
+    private List<WaitlistEntryDTO> nextBatch(FlightWaitlist waitlist, int availableSeats) {
+        List<WaitlistEntryDTO> batch = new ArrayList<>();
+        int remaining = availableSeats;
+        for (WaitlistEntryDTO entry : waitlist.queue) {
+            if (batch.size() == promotionBatchSize || entry.getSeatsRequested() > remaining) {
+                break;
+            }
+            batch.add(entry);
+            remaining -= entry.getSeatsRequested();
+        }
+        return batch;
+    }
+
+    private List<WaitlistEntryDTO> promote(List<WaitlistEntryDTO> batch) {
+        List<ReservationDTO> reservations = batch.stream().map(this::toReservation).toList();
+        List<ReservationDTO> created = reservationService.createReservations(reservations);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<WaitlistEntryDTO> promoted = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ReservationDTO reservation = created.get(i);
+            if (reservation != null) {
+                int resolved = waitlistRepository.resolve(batch.get(i).getId(), WaitlistEntryDTO.Status.WAITING,
+                        WaitlistEntryDTO.Status.PROMOTED, reservation.getReservationCode(), now);
+                if (resolved == 0) {
+                    throw new IllegalStateException("Waitlist entry " + batch.get(i).getId() + " is no longer waiting");
+                }
+                promoted.add(batch.get(i));
+            }
+        }
+        return promoted;
+    }
+
+    /**
+     * Journaled bookings are durable once appended and do not roll back with the transaction, so
+     * each entry gets a transaction of its own in which it is resolved before its booking is
+     * appended; an entry that is no longer waiting is never booked.
+     */
+    private List<WaitlistEntryDTO> promoteJournaled(List<WaitlistEntryDTO> batch) {
+        List<WaitlistEntryDTO> promoted = new ArrayList<>();
+        for (WaitlistEntryDTO entry : batch) {
+            Boolean booked = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                if (waitlistRepository.resolve(entry.getId(), WaitlistEntryDTO.Status.WAITING,
+                        WaitlistEntryDTO.Status.PROMOTED, null, now) == 0) {
+                    throw new IllegalStateException("Waitlist entry " + entry.getId() + " is no longer waiting");
+                }
+                ReservationDTO reservation = reservationService.createReservations(List.of(toReservation(entry))).get(0);
+                if (reservation == null) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                waitlistRepository.resolve(entry.getId(), WaitlistEntryDTO.Status.PROMOTED,
+                        WaitlistEntryDTO.Status.PROMOTED, reservation.getReservationCode(), now);
+                return true;
+            });
+            if (Boolean.TRUE.equals(booked)) {
+                promoted.add(entry);
+            }
+        }
+        return promoted;
+    }
+
+    private void reload(Integer flightId, FlightWaitlist waitlist) {
+        List<WaitlistEntryDTO> waiting = waitlistRepository.findByFlightIdAndStatus(flightId, WaitlistEntryDTO.Status.WAITING);
+        waitlist.queue.forEach(entry -> waitingById.remove(entry.getId()));
+        waitlist.queue.clear();
+        for (WaitlistEntryDTO entry : waiting) {
+            waitlist.queue.add(entry);
+            waitingById.put(entry.getId(), entry);
+        }
+    }
+
+    private ReservationDTO toReservation(WaitlistEntryDTO entry) {
+        FlightDTO flight = new FlightDTO();
+        flight.setId(entry.getFlightId());
+
+        ReservationDTO reservation = new ReservationDTO();
+        reservation.setPassengerFirstname(entry.getPassengerFirstname());
+        reservation.setPassengerLastname(entry.getPassengerLastname());
+        reservation.setPassengerEmail(entry.getPassengerEmail());
+        reservation.setSeatsReserved(entry.getSeatsRequested());
+        reservation.setFlight(flight);
+        return reservation;
+    }
+
+    private WaitlistPosition positionOf(WaitlistEntryDTO entry, FlightWaitlist waitlist) {
+        int ahead = 0;
+        int seatsAhead = 0;
+        for (WaitlistEntryDTO other : waitlist.queue.headSet(entry, false)) {
+            ahead++;
+            seatsAhead += other.getSeatsRequested();
+        }
+        return new WaitlistPosition(entry, ahead + 1, seatsAhead);
+    }
+
+    private FlightWaitlist waitlistOf(Integer flightId) {
+        return waitlists.computeIfAbsent(flightId, id -> new FlightWaitlist(new SerialExecutor(promotionPool)));
+    }
+
+    private static final class FlightWaitlist {
+        private final NavigableSet<WaitlistEntryDTO> queue = new ConcurrentSkipListSet<>(QUEUE_ORDER);
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+        private final SerialExecutor lane;
+
+        private FlightWaitlist(SerialExecutor lane) {
+            this.lane = lane;
+        }
+    }
+
+    private static final class SerialExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final Executor executor;
+        private Runnable active;
+
+        private SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                executor.execute(active);
+            }
+        }
+    }
+}
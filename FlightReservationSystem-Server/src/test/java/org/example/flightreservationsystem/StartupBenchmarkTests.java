@@ -0,0 +1,76 @@
+package org.example.flightreservationsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the packaged application repeatedly until its context has refreshed and reports the median wall time
+ * per configuration. Build first ({@code ./startup-cds.sh} for the AOT and CDS variants), then run
+ * {@code mvn test -Dtest=StartupBenchmarkTests -Dbenchmarks=true}. A reachable database is required.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class StartupBenchmarkTests {
+    private static final int RUNS = Integer.getInteger("benchmark.startup-runs", 5);
+    private static final Path JAR = Path.of(System.getProperty("benchmark.jar", "target/FlightReservationSystem-0.0.1-SNAPSHOT.jar"));
+    private static final Path CDS_JAR = Path.of("target/cds/FlightReservationSystem-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_ARCHIVE = Path.of("target/cds/application.jsa");
+
+    @Test
+    void startupTime() throws Exception {
+        assertTrue(Files.exists(JAR), "Package the application first: " + JAR);
+
+        Map<String, List<String>> configurations = new LinkedHashMap<>();
+        configurations.put("default profile", command(JAR, List.of(), "default"));
+        configurations.put("production profile", command(JAR, List.of(), "production"));
+        if (Files.exists(CDS_ARCHIVE)) {
+            configurations.put("production + AOT", command(CDS_JAR, List.of("-Dspring.aot.enabled=true"), "production"));
+            configurations.put("production + AOT + CDS", command(CDS_JAR,
+                    List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + CDS_ARCHIVE), "production"));
+        }
+
+        System.out.printf("Startup to context refresh, median of %d runs%n", RUNS);
+        for (Map.Entry<String, List<String>> configuration : configurations.entrySet()) {
+            long[] millis = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                millis[i] = start(configuration.getValue());
+            }
+            Arrays.sort(millis);
+            System.out.printf("  %-24s %,6d ms%n", configuration.getKey(), millis[RUNS / 2]);
+        }
+    }
+
+    private List<String> command(Path jar, List<String> jvmOptions, String profile) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--spring.profiles.active=" + profile);
+        return command;
+    }
+
+    private long start(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exitCode = process.waitFor();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        assertEquals(0, exitCode, "Application failed to start: " + String.join(" ", command));
+        return elapsed;
+    }
+}
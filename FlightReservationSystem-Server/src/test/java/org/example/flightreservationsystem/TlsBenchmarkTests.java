@@ -0,0 +1,132 @@
+package org.example.flightreservationsystem;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures TLS handshake cost and HTTP/2 multiplexing against a running server.
+ * Start the server, then run {@code mvn test -Dtest=TlsBenchmarkTests -Dbenchmarks=true [-Dbenchmark.url=https://host:port/ws]}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TlsBenchmarkTests {
+    private static final String URL = System.getProperty("benchmark.url", "https://localhost:8080/ws");
+    private static final int CONNECTIONS = 200;
+    private static final int CONCURRENT_REQUESTS = 100;
+    private static final String GET_ALL_FLIGHTS_REQUEST =
+            "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\" " +
+            "xmlns:fr=\"http://example.org/flightreservationsystem\">" +
+            "<soapenv:Header/><soapenv:Body><fr:getAllFlightsRequest/></soapenv:Body></soapenv:Envelope>";
+
+    @BeforeAll
+    static void trustSelfSignedCertificate() {
+        System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+    }
+
+    @Test
+    void handshakeCost() throws Exception {
+        long fullHandshakeNanos = timeConnections(() -> newClient(HttpClient.Version.HTTP_1_1, trustAllContext()));
+
+        SSLContext sharedContext = trustAllContext();
+        newClient(HttpClient.Version.HTTP_1_1, sharedContext).send(soapRequest(), HttpResponse.BodyHandlers.discarding());
+        long resumedHandshakeNanos = timeConnections(() -> newClient(HttpClient.Version.HTTP_1_1, sharedContext));
+
+        System.out.printf("New connection per request (%d connections)%n", CONNECTIONS);
+        System.out.printf("  full handshake:    %,d us/request%n", fullHandshakeNanos / CONNECTIONS / 1000);
+        System.out.printf("  resumed handshake: %,d us/request%n", resumedHandshakeNanos / CONNECTIONS / 1000);
+    }
+
+    @Test
+    void multiplexedConcurrentRequests() throws Exception {
+        SSLContext sslContext = trustAllContext();
+        HttpClient http11 = newClient(HttpClient.Version.HTTP_1_1, sslContext);
+        HttpClient http2 = newClient(HttpClient.Version.HTTP_2, sslContext);
+
+        HttpResponse<Void> probe = http2.send(soapRequest(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(HttpClient.Version.HTTP_2, probe.version(), "Server did not negotiate h2");
+
+        runConcurrently(http11);
+        runConcurrently(http2);
+        long http11Nanos = runConcurrently(http11);
+        long http2Nanos = runConcurrently(http2);
+
+        System.out.printf("%d concurrent getAllFlights requests from one client%n", CONCURRENT_REQUESTS);
+        System.out.printf("  HTTP/1.1: %,d ms%n", http11Nanos / 1_000_000);
+        System.out.printf("  HTTP/2:   %,d ms%n", http2Nanos / 1_000_000);
+    }
+
+    private long timeConnections(ClientFactory clientFactory) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < CONNECTIONS; i++) {
+            HttpClient client = clientFactory.create();
+            HttpResponse<Void> response = client.send(soapRequest(), HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, response.statusCode());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long runConcurrently(HttpClient client) {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(client.sendAsync(soapRequest(), HttpResponse.BodyHandlers.discarding()));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+        return System.nanoTime() - start;
+    }
+
+    private HttpRequest soapRequest() {
+        return HttpRequest.newBuilder(URI.create(URL))
+                .header("Content-Type", "text/xml; charset=utf-8")
+                .header("Accept-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofString(GET_ALL_FLIGHTS_REQUEST))
+                .build();
+    }
+
+    private HttpClient newClient(HttpClient.Version version, SSLContext sslContext) {
+        return HttpClient.newBuilder()
+                .version(version)
+                .sslContext(sslContext)
+                .build();
+    }
+
+    private SSLContext trustAllContext() throws Exception {
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{trustAll}, new SecureRandom());
+        return sslContext;
+    }
+
+    @FunctionalInterface
+    private interface ClientFactory {
+        HttpClient create() throws Exception;
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.flightreservationsystem;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import org.example.flightreservationsystem.controller.JsonWriter;
+import org.example.flightreservationsystem.model.CityDTO;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.wsdl.City;
+import org.example.flightreservationsystem.wsdl.Flight;
+import org.example.flightreservationsystem.wsdl.GetAllFlightsResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.xml.datatype.DatatypeFactory;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares payload size and serialization CPU of the SOAP and JSON transports for a
+ * getAllFlights-sized response. Run with {@code mvn test -Dtest=TransportBenchmarkTests -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TransportBenchmarkTests {
+    private static final int FLIGHTS = 200;
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int ITERATIONS = 2000;
+
+    private static final String ENVELOPE_START =
+            "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">" +
+            "<SOAP-ENV:Header/><SOAP-ENV:Body>";
+    private static final String ENVELOPE_END = "</SOAP-ENV:Body></SOAP-ENV:Envelope>";
+
+    @Test
+    void soapVersusJsonForAllFlights() throws Exception {
+        List<FlightDTO> flights = sampleFlights();
+        JAXBContext context = JAXBContext.newInstance(GetAllFlightsResponse.class);
+        DatatypeFactory datatypeFactory = DatatypeFactory.newInstance();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        Measurement soap = measure(() -> soapResponse(context, datatypeFactory, flights));
+        Measurement json = measure(() -> jsonResponse(objectMapper, flights));
+
+        System.out.printf("getAllFlights (%d flights)%n", FLIGHTS);
+        System.out.printf("  SOAP: %,d bytes, %,d us CPU per response%n", soap.bytes, soap.cpuMicros);
+        System.out.printf("  JSON: %,d bytes, %,d us CPU per response%n", json.bytes, json.cpuMicros);
+        System.out.printf("  JSON/SOAP: %.0f%% bytes, %.0f%% CPU%n",
+                100.0 * json.bytes / soap.bytes, 100.0 * json.cpuMicros / Math.max(1, soap.cpuMicros));
+
+        assertTrue(json.bytes < soap.bytes);
+    }
+
+    private byte[] soapResponse(JAXBContext context, DatatypeFactory datatypeFactory, List<FlightDTO> flights) throws Exception {
+        GetAllFlightsResponse response = new GetAllFlightsResponse();
+        for (FlightDTO flight : flights) {
+            Flight wsdlFlight = new Flight();
+            wsdlFlight.setId(flight.getId());
+            wsdlFlight.setFlightCode(flight.getFlightCode());
+            wsdlFlight.setDepartureCity(toWsdlCity(flight.getDepartureCity()));
+            wsdlFlight.setArrivalCity(toWsdlCity(flight.getArrivalCity()));
+            wsdlFlight.setDepartureDatetime(datatypeFactory.newXMLGregorianCalendar(
+                    GregorianCalendar.from(flight.getDepartureDatetime().atZone(ZoneId.systemDefault()))));
+            wsdlFlight.setArrivalDatetime(datatypeFactory.newXMLGregorianCalendar(
+                    GregorianCalendar.from(flight.getArrivalDatetime().atZone(ZoneId.systemDefault()))));
+            wsdlFlight.setTotalSeats(flight.getTotalSeats());
+            wsdlFlight.setAvailableSeats(flight.getAvailableSeats());
+            wsdlFlight.setBasePrice(flight.getBasePrice());
+            wsdlFlight.setCurrentPrice(flight.getBasePrice());
+            response.getFlights().add(wsdlFlight);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ENVELOPE_START.getBytes(StandardCharsets.UTF_8));
+        Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.marshal(response, out);
+        out.write(ENVELOPE_END.getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private byte[] jsonResponse(ObjectMapper objectMapper, List<FlightDTO> flights) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JsonWriter.open(objectMapper, out)) {
+            generator.writeStartArray();
+            for (FlightDTO flight : flights) {
+                JsonWriter.writeFlight(generator, flight, FlightDTO::getBasePrice);
+            }
+            generator.writeEndArray();
+        }
+        return out.toByteArray();
+    }
+
+    private Measurement measure(Callable<byte[]> serializer) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            serializer.call();
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long bytes = 0;
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = serializer.call().length;
+        }
+        long cpuNanos = threads.getCurrentThreadCpuTime() - start;
+        return new Measurement(bytes, cpuNanos / ITERATIONS / 1000);
+    }
+
+    private City toWsdlCity(CityDTO city) {
+        City wsdlCity = new City();
+        wsdlCity.setId(city.getId());
+        wsdlCity.setCityName(city.getCityName());
+        wsdlCity.setCountry(city.getCountry());
+        return wsdlCity;
+    }
+
+    private List<FlightDTO> sampleFlights() {
+        CityDTO warsaw = city(1, "Warsaw", "Poland");
+        CityDTO london = city(2, "London", "United Kingdom");
+        LocalDateTime base = LocalDateTime.of(2025, 6, 1, 6, 0);
+
+        List<FlightDTO> flights = new ArrayList<>(FLIGHTS);
+        for (int i = 0; i < FLIGHTS; i++) {
+            FlightDTO flight = new FlightDTO();
+            flight.setId(i + 1);
+            flight.setFlightCode("LO" + (100 + i));
+            flight.setDepartureCity(i % 2 == 0 ? warsaw : london);
+            flight.setArrivalCity(i % 2 == 0 ? london : warsaw);
+            flight.setDepartureDatetime(base.plusHours(i * 3L));
+            flight.setArrivalDatetime(base.plusHours(i * 3L + 2));
+            flight.setTotalSeats(180);
+            flight.setAvailableSeats(180 - i % 180);
+            flight.setBasePrice(new BigDecimal("249.99"));
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    private CityDTO city(int id, String name, String country) {
+        CityDTO city = new CityDTO();
+        city.setId(id);
+        city.setCityName(name);
+        city.setCountry(country);
+        return city;
+    }
+
+    private record Measurement(long bytes, long cpuMicros) {
+    }
+}
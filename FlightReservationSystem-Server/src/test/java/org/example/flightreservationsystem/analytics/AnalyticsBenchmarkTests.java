@@ -0,0 +1,92 @@
+package org.example.flightreservationsystem.analytics;
+
+import org.example.flightreservationsystem.model.AnalyticsReport;
+import org.example.flightreservationsystem.model.AnalyticsReportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Aggregates a synthetic year of flights and reservations per route, day and flight.
+ * Run with {@code mvn test -Dtest=AnalyticsBenchmarkTests -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class AnalyticsBenchmarkTests {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int DAYS = 365;
+    private static final int ROUTES = 400;
+    private static final int FLIGHTS_PER_DAY = 300;
+    private static final int RESERVATIONS_PER_FLIGHT = 60;
+
+    @Test
+    void yearOfReservations() {
+        AnalyticsSnapshot snapshot = syntheticYear();
+        long expectedSeats = 0;
+        for (int seats : snapshot.reservationSeats) {
+            expectedSeats += seats;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        LocalDate lastDay = FIRST_DAY.plusDays(DAYS - 1);
+        System.out.printf("%,d flights, %,d reservations, %d workers%n",
+                snapshot.getFlightCount(), snapshot.getReservationCount(), pool.getParallelism());
+        for (AnalyticsReport.Grouping grouping : AnalyticsReport.Grouping.values()) {
+            AnalyticsAggregator.aggregate(pool, snapshot, grouping, FIRST_DAY, lastDay, null, null);
+            long start = System.nanoTime();
+            AnalyticsReport report = AnalyticsAggregator.aggregate(pool, snapshot, grouping, FIRST_DAY, lastDay, null, null);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(expectedSeats, report.getRows().stream().mapToLong(AnalyticsReportRow::getSeatsSold).sum());
+            System.out.printf("  %-6s %,8d rows in %,d ms%n", grouping, report.getRows().size(), elapsedMillis);
+        }
+        pool.shutdown();
+    }
+
+    private AnalyticsSnapshot syntheticYear() {
+        Random random = new Random(42);
+        int flights = DAYS * FLIGHTS_PER_DAY;
+        int reservations = flights * RESERVATIONS_PER_FLIGHT;
+
+        int[] routeDepartureCityIds = new int[ROUTES];
+        int[] routeArrivalCityIds = new int[ROUTES];
+        for (int route = 0; route < ROUTES; route++) {
+            routeDepartureCityIds[route] = route / 20;
+            routeArrivalCityIds[route] = 100 + route % 20;
+        }
+
+        int[] flightIds = new int[flights];
+        String[] flightCodes = new String[flights];
+        int[] flightRoutes = new int[flights];
+        int[] departureDays = new int[flights];
+        int[] totalSeats = new int[flights];
+        int[] offsets = new int[flights + 1];
+        int firstDay = (int) FIRST_DAY.toEpochDay();
+        for (int flight = 0; flight < flights; flight++) {
+            flightIds[flight] = flight + 1;
+            flightCodes[flight] = "FR" + flight;
+            flightRoutes[flight] = random.nextInt(ROUTES);
+            departureDays[flight] = firstDay + flight / FLIGHTS_PER_DAY;
+            totalSeats[flight] = 180;
+            offsets[flight + 1] = offsets[flight] + RESERVATIONS_PER_FLIGHT;
+        }
+
+        int[] seats = new int[reservations];
+        long[] revenueCents = new long[reservations];
+        int[] daysBefore = new int[reservations];
+        for (int reservation = 0; reservation < reservations; reservation++) {
+            seats[reservation] = 1 + random.nextInt(3);
+            revenueCents[reservation] = seats[reservation] * (5_000L + random.nextInt(50_000));
+            daysBefore[reservation] = random.nextInt(240);
+        }
+
+        return new AnalyticsSnapshot(LocalDateTime.now(), routeDepartureCityIds, routeArrivalCityIds,
+                flightIds, flightCodes, flightRoutes, departureDays, totalSeats, offsets,
+                seats, revenueCents, daysBefore);
+    }
+}
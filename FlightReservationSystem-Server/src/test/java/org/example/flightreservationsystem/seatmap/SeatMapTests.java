@@ -0,0 +1,152 @@
+package org.example.flightreservationsystem.seatmap;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatMapTests {
+
+    @Test
+    void allocatesBlocksWithinOneRow() {
+        SeatMap seatMap = new SeatMap(60, 6);
+        seatMap.occupy(new int[]{0});
+
+        assertArrayEquals(new int[]{1, 2, 3}, seatMap.allocate(3));
+        assertArrayEquals(new int[]{6, 7, 8}, seatMap.allocate(3));
+        assertArrayEquals(new int[]{4, 5}, seatMap.allocate(2));
+    }
+
+    @Test
+    void fallsBackToSingleSeatsAcrossWords() {
+        SeatMap seatMap = new SeatMap(120, 6);
+        for (int seat = 0; seat < 60; seat++) {
+            if (seat != 1) {
+                seatMap.occupy(new int[]{seat});
+            }
+        }
+        for (int seat = 60; seat < 120; seat += 2) {
+            seatMap.occupy(new int[]{seat});
+        }
+
+        int[] seats = seatMap.allocate(2);
+
+        assertArrayEquals(new int[]{1, 61}, seats);
+        assertEquals("1B", seatMap.label(seats[0]));
+        assertEquals("11B", seatMap.label(seats[1]));
+    }
+
+    @Test
+    void refusesAllocationsOnAFullMap() {
+        SeatMap seatMap = new SeatMap(100, 6);
+
+        int[] seats = seatMap.allocate(100);
+
+        assertNotNull(seats);
+        assertEquals(100, Arrays.stream(seats).distinct().count());
+        assertEquals(0, seatMap.getFreeSeats());
+        assertNull(seatMap.allocate(1));
+        assertFalse(seatMap.allocate(new int[]{5}));
+    }
+
+    @Test
+    void rollsBackPartialAllocations() {
+        SeatMap seatMap = new SeatMap(10, 6);
+        int[] allocated = seatMap.allocate(8);
+        assertNotNull(allocated);
+
+        assertNull(seatMap.allocate(3));
+        assertEquals(2, seatMap.getFreeSeats());
+
+        int taken = allocated[0];
+        int free = IntStream.range(0, 10).filter(seat -> !seatMap.isOccupied(seat)).findFirst().orElseThrow();
+        assertFalse(seatMap.allocate(new int[]{free, taken}));
+        assertFalse(seatMap.isOccupied(free));
+    }
+
+    @Test
+    void parsesTheLabelsItProduces() {
+        SeatMap seatMap = new SeatMap(100, 6);
+        for (int seat = 0; seat < seatMap.getCapacity(); seat++) {
+            assertEquals(seat, seatMap.parse(seatMap.label(seat)));
+        }
+
+        assertEquals("1A", seatMap.label(0));
+        assertEquals("17D", seatMap.label(99));
+        assertEquals(8, seatMap.parse(" 2c "));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.parse("0A"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.parse("1G"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.parse("17E"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.parse("A"));
+    }
+
+    @Test
+    void keepsOccupancyThroughThePackedForm() {
+        SeatMap seatMap = new SeatMap(100, 6);
+        seatMap.occupy(new int[]{0, 17, 59, 60, 99});
+
+        SeatMap restored = SeatMap.fromBytes(100, 6, seatMap.toBytes());
+
+        assertEquals(5, restored.getOccupiedSeats());
+        for (int seat = 0; seat < 100; seat++) {
+            assertEquals(seatMap.isOccupied(seat), restored.isOccupied(seat));
+        }
+    }
+
+    @Test
+    void neverAssignsASeatTwiceUnderContention() throws Exception {
+        SeatMap seatMap = new SeatMap(600, 6);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Callable<List<Integer>> task = () -> {
+                List<Integer> seats = new ArrayList<>();
+                start.await();
+                int[] allocated;
+                while ((allocated = seatMap.allocate(ThreadLocalRandom.current().nextInt(1, 5))) != null) {
+                    Arrays.stream(allocated).forEach(seats::add);
+                }
+                while ((allocated = seatMap.allocate(1)) != null) {
+                    seats.add(allocated[0]);
+                }
+                return seats;
+            };
+            results.add(executor.submit(task));
+        }
+        start.countDown();
+
+        Set<Integer> assigned = new HashSet<>();
+        int total = 0;
+        for (Future<List<Integer>> result : results) {
+            List<Integer> seats = result.get();
+            total += seats.size();
+            assigned.addAll(seats);
+        }
+        executor.shutdown();
+
+        assertEquals(600, total);
+        assertEquals(600, assigned.size());
+        assertEquals(0, seatMap.getFreeSeats());
+        assertTrue(assigned.stream().allMatch(seat -> seat >= 0 && seat < 600));
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.flightreservationsystem.service;
+
+import org.example.flightreservationsystem.cluster.LocalFlightOwnership;
+import org.example.flightreservationsystem.event.SeatAvailabilityChangedEvent;
+import org.example.flightreservationsystem.model.FlightDTO;
+import org.example.flightreservationsystem.model.ReservationDTO;
+import org.example.flightreservationsystem.model.WaitlistEntryDTO;
+import org.example.flightreservationsystem.repository.FlightRepository;
+import org.example.flightreservationsystem.repository.WaitlistRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceImplTests {
+    private static final int FLIGHT_ID = 7;
+
+    private final WaitlistRepository waitlistRepository = mock(WaitlistRepository.class);
+    private final FlightRepository flightRepository = mock(FlightRepository.class);
+    private final ReservationService reservationService = mock(ReservationService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final AtomicInteger availableSeats = new AtomicInteger();
+
+    private WaitlistServiceImpl waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        when(flightRepository.findById(FLIGHT_ID)).thenAnswer(invocation -> Optional.of(flight()));
+        when(reservationService.createReservations(anyList())).thenAnswer(invocation -> {
+            List<ReservationDTO> reservations = invocation.getArgument(0);
+            reservations.forEach(reservation -> reservation.setReservationCode("R" + reservation.getPassengerEmail()));
+            return reservations;
+        });
+        when(waitlistRepository.resolve(anyInt(), any(), any(), any(), any())).thenReturn(1);
+
+        waitlistService = new WaitlistServiceImpl(waitlistRepository, flightRepository, reservationService,
+                transactionTemplate, new LocalFlightOwnership(), 50, 1, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        waitlistService.shutdown();
+    }
+
+    @Test
+    void promotesInPriorityThenJoinOrderWithoutOvertakingTheHead() {
+        WaitlistEntryDTO family = entry(1, 1, 4);
+        WaitlistEntryDTO first = entry(2, 0, 1);
+        WaitlistEntryDTO second = entry(3, 0, 1);
+        when(waitlistRepository.findByStatus(WaitlistEntryDTO.Status.WAITING)).thenReturn(List.of(second, first, family));
+
+        availableSeats.set(3);
+        waitlistService.loadWaitlists();
+        verify(flightRepository, timeout(2000)).findById(FLIGHT_ID);
+        assertEquals(1, waitlistService.getPosition(1).getPosition());
+        assertEquals(2, waitlistService.getPosition(2).getPosition());
+        assertEquals(3, waitlistService.getPosition(3).getPosition());
+
+        availableSeats.set(5);
+        waitlistService.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(FLIGHT_ID, 5, 2));
+
+        ArgumentCaptor<List<ReservationDTO>> promoted = listCaptor();
+        verify(reservationService, timeout(2000)).createReservations(promoted.capture());
+        assertEquals(List.of("1@example.org", "2@example.org"),
+                promoted.getValue().stream().map(ReservationDTO::getPassengerEmail).toList());
+        awaitUntil(() -> waitlistService.getPosition(3).getPosition() == 1);
+    }
+
+    @Test
+    void coalescesSeatEventsThatArriveDuringADrain() throws InterruptedException {
+        CountDownLatch drainStarted = new CountDownLatch(1);
+        CountDownLatch releaseDrain = new CountDownLatch(1);
+        AtomicInteger lookups = new AtomicInteger();
+        when(flightRepository.findById(FLIGHT_ID)).thenAnswer(invocation -> {
+            if (lookups.incrementAndGet() == 1) {
+                drainStarted.countDown();
+                releaseDrain.await(2, TimeUnit.SECONDS);
+            }
+            return Optional.of(flight());
+        });
+        when(waitlistRepository.findByStatus(WaitlistEntryDTO.Status.WAITING)).thenReturn(List.of(entry(1, 0, 1)));
+
+        waitlistService.loadWaitlists();
+        assertTrue(drainStarted.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            waitlistService.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(FLIGHT_ID, 0, 1));
+        }
+        releaseDrain.countDown();
+
+        verify(flightRepository, timeout(2000).times(2)).findById(FLIGHT_ID);
+        verify(flightRepository, after(300).times(2)).findById(FLIGHT_ID);
+    }
+
+    @Test
+    void reloadsTheQueueWhenAnEntryWasResolvedElsewhere() {
+        WaitlistEntryDTO cancelled = entry(1, 0, 1);
+        WaitlistEntryDTO waiting = entry(2, 0, 1);
+        when(waitlistRepository.findByStatus(WaitlistEntryDTO.Status.WAITING)).thenReturn(List.of(cancelled, waiting));
+        when(waitlistRepository.resolve(eq(1), any(), any(), any(), any())).thenReturn(0);
+        when(waitlistRepository.findByFlightIdAndStatus(FLIGHT_ID, WaitlistEntryDTO.Status.WAITING))
+                .thenReturn(List.of(waiting));
+        WaitlistEntryDTO resolved = entry(1, 0, 1);
+        resolved.setStatus(WaitlistEntryDTO.Status.CANCELLED);
+        when(waitlistRepository.findById(1)).thenReturn(Optional.of(resolved));
+
+        availableSeats.set(2);
+        waitlistService.loadWaitlists();
+
+        verify(waitlistRepository, timeout(2000)).findByFlightIdAndStatus(FLIGHT_ID, WaitlistEntryDTO.Status.WAITING);
+        awaitUntil(() -> waitlistService.getPosition(1).getPosition() == null);
+        assertNull(waitlistService.getPosition(1).getPosition());
+        assertEquals(WaitlistEntryDTO.Status.CANCELLED, waitlistService.getPosition(1).getEntry().getStatus());
+        assertEquals(1, waitlistService.getPosition(2).getPosition());
+    }
+
+    private FlightDTO flight() {
+        FlightDTO flight = new FlightDTO();
+        flight.setId(FLIGHT_ID);
+        flight.setTotalSeats(10);
+        flight.setAvailableSeats(availableSeats.get());
+        return flight;
+    }
+
+    private static WaitlistEntryDTO entry(int id, int priority, int seats) {
+        WaitlistEntryDTO entry = new WaitlistEntryDTO();
+        entry.setId(id);
+        entry.setFlightId(FLIGHT_ID);
+        entry.setPriority(priority);
+        entry.setSeatsRequested(seats);
+        entry.setPassengerEmail(id + "@example.org");
+        entry.setStatus(WaitlistEntryDTO.Status.WAITING);
+        entry.setJoinedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<ReservationDTO>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 2 seconds");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+#!/bin/sh
+# Builds an AOT-processed jar for the production profile, then records a Class Data Sharing archive
+# from a training run that stops right after the application context refreshes.
+# The database configured for the production profile must be reachable during the training run.
+set -e
+cd "$(dirname "$0")"
+
+./mvnw -B -Pstartup -DskipTests package
+rm -rf target/cds
+java -Djarmode=tools -jar target/FlightReservationSystem-0.0.1-SNAPSHOT.jar extract --destination target/cds
+
+java -XX:ArchiveClassesAtExit=target/cds/application.jsa \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar target/cds/FlightReservationSystem-0.0.1-SNAPSHOT.jar --spring.profiles.active=production
+
+echo "Start with:"
+echo "  java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true -jar target/cds/FlightReservationSystem-0.0.1-SNAPSHOT.jar --spring.profiles.active=production"